@@ -0,0 +1,16 @@
+-- SQL скрипт для добавления вместимости и счетчика мест в таблицу event
+-- Выполните этот скрипт в PostgreSQL, если таблица event уже содержит данные
+
+-- 1. Добавляем колонки (ddl-auto=update создаст их сам, скрипт безопасен для повторного запуска)
+ALTER TABLE event ADD COLUMN IF NOT EXISTS capacity INTEGER NOT NULL DEFAULT 100;
+ALTER TABLE event ADD COLUMN IF NOT EXISTS seats_taken INTEGER NOT NULL DEFAULT 0;
+
+-- 2. Заполняем счетчик мест по уже существующим бронированиям
+UPDATE event e
+SET seats_taken = (SELECT COUNT(*) FROM reservation r WHERE r.event_id = e.id);
+
+-- 3. Индекс для проверки мест и повторной регистрации по (event_id, check_in)
+CREATE INDEX IF NOT EXISTS idx_reservation_event_check_in ON reservation (event_id, check_in);
+
+-- 4. Проверяем результат
+SELECT id, name, capacity, seats_taken FROM event ORDER BY id;
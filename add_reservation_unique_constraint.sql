@@ -0,0 +1,18 @@
+-- SQL скрипт для защиты от двойной регистрации на уровне базы данных
+-- Выполните этот скрипт в PostgreSQL после add_event_capacity.sql
+
+-- 1. Удаляем дубликаты (оставляем самое раннее бронирование студента на событие)
+DELETE FROM reservation r
+USING reservation d
+WHERE r.event_id = d.event_id
+  AND r.check_in = d.check_in
+  AND r.id > d.id;
+
+-- 2. Уникальное ограничение заменяет обычный индекс (event_id, check_in)
+DROP INDEX IF EXISTS idx_reservation_event_check_in;
+ALTER TABLE reservation DROP CONSTRAINT IF EXISTS uk_reservation_event_check_in;
+ALTER TABLE reservation ADD CONSTRAINT uk_reservation_event_check_in UNIQUE (event_id, check_in);
+
+-- 3. Пересчитываем счетчик мест после удаления дубликатов
+UPDATE event e
+SET seats_taken = (SELECT COUNT(*) FROM reservation r WHERE r.event_id = e.id);
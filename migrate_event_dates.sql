@@ -0,0 +1,13 @@
+-- SQL скрипт для перевода available_from / available_to из VARCHAR в DATE
+-- Выполните этот скрипт в PostgreSQL один раз, до запуска новой версии приложения
+-- (ddl-auto=update не меняет тип существующих колонок)
+
+-- 1. Пустые строки становятся NULL, остальные значения 'yyyy-MM-dd' приводятся к DATE
+ALTER TABLE event ALTER COLUMN available_from TYPE DATE USING NULLIF(TRIM(available_from), '')::date;
+ALTER TABLE event ALTER COLUMN available_to TYPE DATE USING NULLIF(TRIM(available_to), '')::date;
+
+-- 2. Индекс для поиска событий по датам
+CREATE INDEX IF NOT EXISTS idx_event_available_from_to ON event (available_from, available_to);
+
+-- 3. Проверяем результат
+SELECT id, name, available_from, available_to FROM event ORDER BY id;
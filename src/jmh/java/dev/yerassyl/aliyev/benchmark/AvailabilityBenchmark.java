@@ -0,0 +1,90 @@
+package dev.yerassyl.aliyev.benchmark;
+
+import dev.yerassyl.aliyev.cache.EventAvailabilityIndex;
+import dev.yerassyl.aliyev.repository.EventRepository;
+import dev.yerassyl.aliyev.service.EventService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares /events/availabilitySearch answered by the in-memory availability index
+ * with the same search as a database query, for month long windows over ten years of events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailabilityBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+    private static final int DAYS = 3650;
+    private static final int WINDOWS = 1024;
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"1000", "100000"})
+    public int events;
+
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+    private EventRepository eventRepository;
+    private String[][] windows;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("availability" + events);
+        eventService = context.getBean(EventService.class);
+        eventRepository = context.getBean(EventRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < events; i++) {
+            LocalDate from = FIRST_DAY.plusDays(random.nextInt(DAYS));
+            LocalDate to = from.plusDays(random.nextInt(1, 15));
+            int capacity = random.nextInt(1, 100);
+            // Roughly one event in ten is sold out
+            int seatsTaken = random.nextInt(10) == 0 ? capacity : random.nextInt(capacity);
+            batch.add(new Object[]{"Benchmark event " + i, Date.valueOf(from), Date.valueOf(to), capacity, seatsTaken});
+            if (batch.size() == BATCH_SIZE || i == events - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO event (name, type, description, available_from, available_to, status, capacity, seats_taken) " +
+                        "VALUES (?, 0, 'Benchmark', ?, ?, true, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        context.getBean(EventAvailabilityIndex.class).eventsChanged();
+
+        windows = new String[WINDOWS][];
+        for (int i = 0; i < WINDOWS; i++) {
+            LocalDate from = FIRST_DAY.plusDays(random.nextInt(DAYS));
+            windows[i] = new String[]{from.toString(), from.plusDays(30).toString()};
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object index() {
+        String[] window = windows[next++ & (WINDOWS - 1)];
+        return eventService.getAvailable(window[0], window[1]);
+    }
+
+    @Benchmark
+    public Object databaseQuery() {
+        String[] window = windows[next++ & (WINDOWS - 1)];
+        return eventRepository.findAllBetweenDates(window[0], window[1]);
+    }
+}
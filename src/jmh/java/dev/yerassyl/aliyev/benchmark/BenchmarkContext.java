@@ -0,0 +1,33 @@
+package dev.yerassyl.aliyev.benchmark;
+
+import dev.yerassyl.aliyev.EventReservationApiApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.stream.Stream;
+
+/**
+ * Boots the application against an in-memory H2 database for benchmarks that need the real persistence layer
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * @param properties extra 'key=value' settings of the benchmark
+     */
+    static ConfigurableApplicationContext start(String databaseName, String... properties) {
+        // Passed as command line arguments: default properties would lose to application.properties
+        Stream<String> settings = Stream.concat(Stream.of(
+                "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=warn",
+                "logging.level.dev.yerassyl.aliyev=warn"), Stream.of(properties));
+        return new SpringApplicationBuilder(EventReservationApiApplication.class)
+                .profiles("h2")
+                .web(WebApplicationType.NONE)
+                .run(settings.map(setting -> "--" + setting).toArray(String[]::new));
+    }
+}
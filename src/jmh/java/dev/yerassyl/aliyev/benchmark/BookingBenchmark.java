@@ -0,0 +1,93 @@
+package dev.yerassyl.aliyev.benchmark;
+
+import dev.yerassyl.aliyev.entity.Reservation;
+import dev.yerassyl.aliyev.service.ReservationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ReservationService.saveReservation while the reservation table grows from 1k to 1M rows.
+ * With the per-event seat counter and the (event_id, check_in) index the booking latency should stay flat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingBenchmark {
+
+    private static final int BACKGROUND_EVENTS = 1_000;
+    private static final int HOT_EVENTS = 100;
+    private static final int BOOKING_USERS = 10_000;
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int reservationRows;
+
+    private ConfigurableApplicationContext context;
+    private ReservationService reservationService;
+    private int firstHotEventId;
+    private int firstUserId;
+    private int bookings;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("booking" + reservationRows);
+        reservationService = context.getBean(ReservationService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        int firstBackgroundEventId = insertEvents(jdbcTemplate, BACKGROUND_EVENTS, Integer.MAX_VALUE);
+        firstHotEventId = insertEvents(jdbcTemplate, HOT_EVENTS, BOOKING_USERS);
+        firstUserId = insertUsers(jdbcTemplate);
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < reservationRows; i++) {
+            batch.add(new Object[]{firstBackgroundEventId + (i % BACKGROUND_EVENTS), "BG" + i});
+            if (batch.size() == BATCH_SIZE || i == reservationRows - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO reservation (event_id, check_in, status) VALUES (?, ?, true)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object saveReservation() {
+        // Every user books every hot event once, so no booking is rejected as full or duplicate
+        int n = bookings++;
+        Reservation reservation = Reservation.builder()
+                .eventId(firstHotEventId + (n / BOOKING_USERS) % HOT_EVENTS)
+                .status(true)
+                .build();
+        return reservationService.saveReservation(reservation, firstUserId + n % BOOKING_USERS);
+    }
+
+    private static int insertEvents(JdbcTemplate jdbcTemplate, int count, int capacity) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{"Benchmark event " + i, capacity});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO event (name, type, description, available_from, available_to, status, capacity, seats_taken) " +
+                "VALUES (?, 0, 'Benchmark', '2024-01-01', '2024-12-31', true, ?, 0)", rows);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM event", Integer.class) - count + 1;
+    }
+
+    private static int insertUsers(JdbcTemplate jdbcTemplate) {
+        List<Object[]> rows = new ArrayList<>(BOOKING_USERS);
+        for (int i = 0; i < BOOKING_USERS; i++) {
+            rows.add(new Object[]{"BENCH" + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO user_table (student_id, name, surname, password) VALUES (?, 'Bench', 'User', 'x')", rows);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM user_table", Integer.class) - BOOKING_USERS + 1;
+    }
+}
@@ -0,0 +1,50 @@
+package dev.yerassyl.aliyev.benchmark;
+
+import dev.yerassyl.aliyev.utils.EpochDays;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing one 'yyyy-MM-dd' date: EpochDays against java.time and the SimpleDateFormat per call
+ * that ReservationServiceImp.dateIsBefore used. Run with '-prof gc' to compare allocation per parse.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class DateParsingBenchmark {
+
+    private static final String[] DATES = {"2023-01-01", "2024-02-29", "2025-11-30", "2019-7-4"};
+
+    private int next;
+
+    private String nextDate() {
+        return DATES[next++ & (DATES.length - 1)];
+    }
+
+    @Benchmark
+    public int epochDays() {
+        return EpochDays.parse(nextDate());
+    }
+
+    @Benchmark
+    public long localDate() {
+        String date = nextDate();
+        // LocalDate.parse needs two digit fields, only the ISO dates go through it
+        return date.length() == 10 ? LocalDate.parse(date).toEpochDay() : 0;
+    }
+
+    @Benchmark
+    public long simpleDateFormatPerCall() throws ParseException {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd");
+        format.setLenient(false);
+        return format.parse(nextDate()).getTime();
+    }
+}
@@ -0,0 +1,69 @@
+package dev.yerassyl.aliyev.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.yerassyl.aliyev.dto.EventView;
+import dev.yerassyl.aliyev.entity.Event;
+import dev.yerassyl.aliyev.entity.ValidTypesOfHotelsEnum;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of an event list response (GET /events, availability search) with the mapper
+ * settings Spring Boot uses: the EventView projections the API returns against the Event entities it used to return.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class EventSerializationBenchmark {
+
+    private static final ValidTypesOfHotelsEnum[] TYPES = ValidTypesOfHotelsEnum.values();
+
+    @Param({"10", "1000"})
+    public int events;
+
+    private ObjectMapper objectMapper;
+    private List<EventView> views;
+    private List<Event> entities;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        views = new ArrayList<>(events);
+        entities = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            String from = "2025-%02d-%02d".formatted(1 + i % 12, 1 + i % 28);
+            String to = "2026-%02d-%02d".formatted(1 + i % 12, 1 + i % 28);
+            ValidTypesOfHotelsEnum type = TYPES[i % TYPES.length];
+            views.add(new EventView(i + 1, "Benchmark event " + i, type, "Event description " + i, from, to, true, 100, i % 100));
+            Event event = Event.builder()
+                    .name("Benchmark event " + i)
+                    .type(type)
+                    .description("Event description " + i)
+                    .availableFrom(from)
+                    .availableTo(to)
+                    .status(true)
+                    .build();
+            event.setId(i + 1);
+            event.setSeatsTaken(i % 100);
+            entities.add(event);
+        }
+    }
+
+    @Benchmark
+    public byte[] eventViews() throws Exception {
+        return objectMapper.writeValueAsBytes(views);
+    }
+
+    @Benchmark
+    public byte[] eventEntities() throws Exception {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+}
@@ -0,0 +1,93 @@
+package dev.yerassyl.aliyev.benchmark;
+
+import dev.yerassyl.aliyev.dto.FeedbackRequest;
+import dev.yerassyl.aliyev.feedback.FeedbackIngestor;
+import dev.yerassyl.aliyev.feedback.FeedbackQuery;
+import dev.yerassyl.aliyev.service.FeedbackService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * FeedbackServiceImp: accepting feedback (queue, search index, group commit to the day file) and reading
+ * the newest page of the listing, for each fsync policy. Saves wait for room in the queue instead of
+ * being refused, so the save score is the sustained rate of the disk writer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@Threads(4)
+public class FeedbackBenchmark {
+
+    private static final int PREFILLED_ENTRIES = 10_000;
+
+    @Param({"always", "never"})
+    public String fsync;
+
+    private ConfigurableApplicationContext context;
+    private FeedbackService feedbackService;
+    private Path directory;
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final FeedbackQuery newestPage = new FeedbackQuery(null, null, null, null, 20, null);
+    private final FeedbackQuery subjectPage = new FeedbackQuery(null, null, null, "invoice", 20, null);
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("feedback-benchmark");
+        context = BenchmarkContext.start("feedback" + fsync,
+                "app.feedback.dir=" + directory,
+                "app.feedback.fsync=" + fsync,
+                "app.feedback.offer-timeout-ms=10000",
+                "app.feedback.compact-interval-minutes=0");
+        feedbackService = context.getBean(FeedbackService.class);
+        FeedbackIngestor ingestor = context.getBean(FeedbackIngestor.class);
+
+        for (int i = 0; i < PREFILLED_ENTRIES; i++) {
+            feedbackService.saveFeedback(request());
+        }
+        while (ingestor.written() < PREFILLED_ENTRIES) {
+            Thread.sleep(10);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    private FeedbackRequest request() {
+        int n = sequence.incrementAndGet();
+        return FeedbackRequest.builder()
+                .name("Benchmark User " + (n % 500))
+                .email("user" + (n % 500) + "@example.com")
+                .subject(n % 10 == 0 ? "Invoice question " + n : "Event feedback " + n)
+                .message("The event was well organised, but the registration queue took too long. Entry " + n)
+                .build();
+    }
+
+    @Benchmark
+    public void save() {
+        feedbackService.saveFeedback(request());
+    }
+
+    @Benchmark
+    public void listNewest() throws IOException {
+        feedbackService.writeFeedbackPage(newestPage, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void listBySubject() throws IOException {
+        feedbackService.writeFeedbackPage(subjectPage, OutputStream.nullOutputStream());
+    }
+}
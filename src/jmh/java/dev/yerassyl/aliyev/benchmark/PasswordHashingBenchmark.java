@@ -0,0 +1,52 @@
+package dev.yerassyl.aliyev.benchmark;
+
+import dev.yerassyl.aliyev.security.Pbkdf2PasswordHasher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login password check through Pbkdf2PasswordHasher (hashing pool hop included) for several iteration
+ * counts, against the legacy unsalted SHA-256 hash. Sample time mode reports p99 and p99.9: pick the
+ * highest 'app.security.password.iterations' whose p99 fits the login latency budget on production CPUs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(4)
+public class PasswordHashingBenchmark {
+
+    // SHA-256 of "correct horse battery" in hex, as stored by earlier versions
+    private static final String LEGACY_HASH = "9028ea0d15decaa35b2da21c0290af3b1a5ba0a30a591906f89b5074e209ea72";
+    private static final String PASSWORD = "correct horse battery";
+
+    @Param({"100000", "210000", "600000"})
+    public int iterations;
+
+    private Pbkdf2PasswordHasher hasher;
+    private String stored;
+
+    @Setup
+    public void setUp() {
+        hasher = new Pbkdf2PasswordHasher(iterations, 0, 1024);
+        stored = hasher.hash(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        hasher.close();
+    }
+
+    @Benchmark
+    public boolean pbkdf2Login() {
+        return hasher.matches(PASSWORD, stored);
+    }
+
+    @Benchmark
+    public boolean legacySha256Login() {
+        return hasher.matches(PASSWORD, LEGACY_HASH);
+    }
+}
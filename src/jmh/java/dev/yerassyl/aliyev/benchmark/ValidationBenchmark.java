@@ -0,0 +1,69 @@
+package dev.yerassyl.aliyev.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import dev.yerassyl.aliyev.entity.Event;
+import dev.yerassyl.aliyev.entity.ValidTypesOfHotelsEnum;
+import dev.yerassyl.aliyev.exception.InvalidRequestException;
+import dev.yerassyl.aliyev.validator.BaseValidator;
+import dev.yerassyl.aliyev.validator.EventValidator;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request validation on the event and search paths: BaseValidator.validateDates for accepted and rejected
+ * ranges and the full EventValidator.validateEventPOST. The accepted paths should not allocate, check with '-prof gc'.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ValidationBenchmark {
+
+    private static final String[][] RANGES = {
+            {"2025-01-01", "2025-01-31"}, {"2024-02-28", "2024-03-01"}, {"2023-12-31", "2024-01-01"}, {"2025-06-01", "2025-06-01"}};
+
+    private Event event;
+
+    @Setup
+    public void setUp() {
+        // Rejections are logged at error level, console output would be measured instead of the validation
+        ((Logger) LoggerFactory.getLogger("dev.yerassyl.aliyev")).setLevel(Level.OFF);
+        event = Event.builder()
+                .name("Benchmark event")
+                .type(ValidTypesOfHotelsEnum.CONCERT)
+                .description("Benchmark")
+                .availableFrom("2025-01-01")
+                .availableTo("2025-12-31")
+                .status(true)
+                .build();
+    }
+
+    @Benchmark
+    public void validDates() {
+        String[] range = RANGES[ThreadLocalRandom.current().nextInt(RANGES.length)];
+        BaseValidator.validateDates(range[0], range[1]);
+    }
+
+    @Benchmark
+    public Object reversedDates() {
+        String[] range = RANGES[ThreadLocalRandom.current().nextInt(RANGES.length)];
+        try {
+            BaseValidator.validateDates(range[1], "2000-01-01");
+            return null;
+        } catch (InvalidRequestException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public void eventPost() {
+        EventValidator.validateEventPOST(event);
+    }
+}
@@ -0,0 +1,93 @@
+package dev.yerassyl.aliyev.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one scenario. Latency runs from the planned start of a request, not from the moment
+ * it was sent, so a stalled server or generator shows up in the percentiles (no coordinated omission).
+ */
+final class EndpointStats {
+
+    // Up to a minute, in microseconds with three significant digits
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Scenario scenario;
+    private final Recorder recorder = new Recorder(HIGHEST_MICROS, 3);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    EndpointStats(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    Scenario scenario() {
+        return scenario;
+    }
+
+    void recordResponse(long plannedNanos, int status) {
+        record(plannedNanos);
+        if (status < 400) {
+            ok.increment();
+        } else if (status == 429) {
+            throttled.increment();
+        } else if (status < 500) {
+            // Full event, duplicate booking, wrong password: expected answers under load
+            rejected.increment();
+        } else {
+            serverErrors.increment();
+        }
+    }
+
+    void recordFailure(long plannedNanos) {
+        record(plannedNanos);
+        failures.increment();
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    private void record(long plannedNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - plannedNanos);
+        recorder.recordValue(Math.min(Math.max(1, micros), HIGHEST_MICROS));
+    }
+
+    /**
+     * Latencies recorded so far
+     */
+    Histogram latencies() {
+        return recorder.getIntervalHistogram();
+    }
+
+    long ok() {
+        return ok.sum();
+    }
+
+    long rejected() {
+        return rejected.sum();
+    }
+
+    long throttled() {
+        return throttled.sum();
+    }
+
+    long serverErrors() {
+        return serverErrors.sum();
+    }
+
+    long failures() {
+        return failures.sum();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,329 @@
+package dev.yerassyl.aliyev.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.yerassyl.aliyev.EventReservationApiApplication;
+import dev.yerassyl.aliyev.utils.EpochDays;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load generator: requests are started at the configured rate whatever the response times are,
+ * each on its own virtual thread, so a slow server builds up a queue instead of slowing the load down. Latency is
+ * measured from the planned start of each request and recorded per scenario in HdrHistogram.
+ * <p>
+ * Run with './mvnw -Ploadtest test-compile exec:exec', settings in LoadTestConfig. Without 'loadtest.url' the
+ * application is started in this JVM on H2 with the datagen profile; against another instance, that instance
+ * needs the datagen users (gen-0, gen-1, ...) and a login limit per address that lets the load through.
+ */
+public final class LoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+    // Share of browse and book requests that go to the hot events (the 1% with the most bookings)
+    private static final double HOT_SHARE = 0.5;
+    private static final int LOGIN_CONCURRENCY = 16;
+
+    private final LoadTestConfig config;
+    private final TrafficMix mix;
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Map<Scenario, EndpointStats> stats = new EnumMap<>(Scenario.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final List<Histogram> histograms = new ArrayList<>();
+    private int[] eventIds;
+    private int[] hotEventIds;
+    private int firstDay;
+    private int lastDay;
+    private List<String> tokens;
+
+    LoadTest(LoadTestConfig config, TrafficMix mix, HttpClient client, String baseUrl) {
+        this.config = config;
+        this.mix = mix;
+        this.client = client;
+        this.baseUrl = baseUrl;
+        mix.shares().keySet().forEach(scenario -> stats.put(scenario, new EndpointStats(scenario)));
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        TrafficMix mix = new TrafficMix(config.mix());
+        ConfigurableApplicationContext application = null;
+        String baseUrl = config.url();
+        if (baseUrl.isBlank()) {
+            application = startApplication(config);
+            baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(executor)
+                    .build();
+            LoadTest loadTest = new LoadTest(config, mix, client, baseUrl);
+            loadTest.prepare(executor);
+            LoadTestReport report = loadTest.run(executor);
+
+            report.print(System.out);
+            if (config.baseline() != null && Files.exists(config.baseline())) {
+                report.printComparison(LoadTestReport.read(config.baseline()), System.out);
+            }
+            report.write(config.reportDir(), loadTest.histograms);
+            System.out.println("\nReport: " + config.reportDir().resolve("report.json").toAbsolutePath());
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestConfig config) {
+        System.out.printf("Starting the application on H2 with %d events, %d users and %d reservations...%n",
+                config.events(), config.users(), config.reservations());
+        // Command line arguments, so they win over application.properties and application-datagen.properties
+        String[] settings = {
+                "server.port=0",
+                "spring.jpa.show-sql=false",
+                // Application logs go to a file only, the console is left to the report
+                "logging.pattern.console=",
+                "logging.level.dev.yerassyl.aliyev=info",
+                "logging.file.name=" + config.reportDir().resolve("application.log"),
+                "app.feedback.dir=" + config.reportDir().resolve("feedback"),
+                "app.datagen.events=" + config.events(),
+                "app.datagen.users=" + config.users(),
+                "app.datagen.reservations=" + config.reservations(),
+                "app.datagen.user-password=" + config.password(),
+                // All simulated clients share one address
+                "app.security.login.address-burst=1000000",
+                "app.security.login.address-per-minute=1000000"};
+        return new SpringApplicationBuilder(EventReservationApiApplication.class)
+                .profiles("h2", "datagen")
+                .run(Arrays.stream(settings).map(setting -> "--" + setting).toArray(String[]::new));
+    }
+
+    /**
+     * Reads the event catalog and logs in the booking sessions
+     */
+    void prepare(ExecutorService executor) throws Exception {
+        JsonNode events = MAPPER.readTree(client.send(get("/api/v1/events"), HttpResponse.BodyHandlers.ofByteArray()).body());
+        if (!events.isArray() || events.isEmpty()) {
+            throw new IllegalStateException("No events at " + baseUrl + ", start it with the datagen profile");
+        }
+        List<JsonNode> catalog = new ArrayList<>();
+        events.forEach(catalog::add);
+        eventIds = catalog.stream().mapToInt(event -> event.get("id").asInt()).toArray();
+        hotEventIds = catalog.stream()
+                .sorted(Comparator.comparingInt((JsonNode event) -> event.path("seatsTaken").asInt()).reversed())
+                .limit(Math.max(1, catalog.size() / 100))
+                .mapToInt(event -> event.get("id").asInt())
+                .toArray();
+        int[] days = catalog.stream()
+                .map(event -> event.path("availableFrom").asText(null))
+                .filter(day -> day != null && EpochDays.parse(day) != EpochDays.INVALID)
+                .mapToInt(EpochDays::parse)
+                .toArray();
+        firstDay = Arrays.stream(days).min().orElse((int) LocalDate.now().toEpochDay());
+        lastDay = Arrays.stream(days).max().orElse(firstDay + 365);
+
+        tokens = new CopyOnWriteArrayList<>();
+        if (mix.includes(Scenario.BOOK)) {
+            Semaphore logins = new Semaphore(LOGIN_CONCURRENCY);
+            List<Future<?>> pending = new ArrayList<>();
+            int step = Math.max(1, config.users() / config.sessions());
+            for (int i = 0; i < config.sessions(); i++) {
+                String studentId = "gen-" + (i * step % config.users());
+                pending.add(executor.submit(() -> {
+                    logins.acquire();
+                    try {
+                        tokens.add(login(studentId));
+                    } finally {
+                        logins.release();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> login : pending) {
+                login.get();
+            }
+        }
+        System.out.printf("Target %s: %d events (%d hot), %d sessions%n", baseUrl, eventIds.length, hotEventIds.length,
+                tokens.size());
+    }
+
+    private String login(String studentId) throws IOException, InterruptedException {
+        while (true) {
+            HttpResponse<Void> response = client.send(loginRequest(studentId), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() == 429) {
+                // Login throttling of the target, wait as told
+                long seconds = response.headers().firstValueAsLong("Retry-After").orElse(1);
+                Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+                continue;
+            }
+            return response.headers().firstValue("X-Auth-Token")
+                    .orElseThrow(() -> new IllegalStateException("Login of " + studentId + " failed with "
+                            + response.statusCode() + ", is the datagen password '" + config.password() + "'?"));
+        }
+    }
+
+    /**
+     * Warmup and measurement with planned arrivals, then waits for the requests still in flight
+     */
+    LoadTestReport run(ExecutorService executor) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(config.seed());
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        boolean poisson = !"constant".equalsIgnoreCase(config.arrival());
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        System.out.printf("Warmup %ds, then %ds at %.0f requests/s (%s arrivals)...%n", config.warmup().toSeconds(),
+                config.duration().toSeconds(), config.rate(), poisson ? "poisson" : "constant");
+        Instant startedAt = Instant.now().plus(config.warmup());
+
+        double planned = start;
+        while (planned < end) {
+            long plannedNanos = (long) planned;
+            long wait = plannedNanos - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Scenario scenario = mix.next(random);
+            EndpointStats endpoint = stats.get(scenario);
+            boolean measured = plannedNanos >= measureFrom;
+            if (inFlight.get() >= config.maxInFlight()) {
+                if (measured) {
+                    endpoint.recordDropped();
+                }
+            } else {
+                inFlight.incrementAndGet();
+                SplittableRandom requestRandom = random.split();
+                executor.execute(() -> {
+                    try {
+                        send(scenario, requestRandom, endpoint, plannedNanos, measured);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+            planned += poisson ? -Math.log(1 - random.nextDouble()) * meanGapNanos : meanGapNanos;
+        }
+
+        long drainUntil = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+            Thread.sleep(10);
+        }
+
+        List<LoadTestReport.Endpoint> endpoints = new ArrayList<>();
+        for (EndpointStats endpoint : stats.values()) {
+            Histogram latencies = endpoint.latencies();
+            histograms.add(latencies);
+            endpoints.add(LoadTestReport.Endpoint.of(endpoint, latencies, config.duration().toMillis() / 1000.0));
+        }
+        return new LoadTestReport(startedAt.toString(), settings(), endpoints);
+    }
+
+    private Map<String, String> settings() {
+        Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("target", config.url().isBlank() ? "embedded h2" : config.url());
+        settings.put("rate", String.valueOf(config.rate()));
+        settings.put("arrival", config.arrival());
+        settings.put("warmupSeconds", String.valueOf(config.warmup().toSeconds()));
+        settings.put("durationSeconds", String.valueOf(config.duration().toSeconds()));
+        settings.put("mix", config.mix());
+        settings.put("maxInFlight", String.valueOf(config.maxInFlight()));
+        settings.put("sessions", String.valueOf(config.sessions()));
+        settings.put("users", String.valueOf(config.users()));
+        settings.put("events", String.valueOf(config.events()));
+        settings.put("reservations", String.valueOf(config.reservations()));
+        settings.put("seed", String.valueOf(config.seed()));
+        return settings;
+    }
+
+    private void send(Scenario scenario, SplittableRandom random, EndpointStats endpoint, long plannedNanos, boolean measured) {
+        try {
+            HttpResponse<Void> response = client.send(request(scenario, random), HttpResponse.BodyHandlers.discarding());
+            if (measured) {
+                endpoint.recordResponse(plannedNanos, response.statusCode());
+            }
+        } catch (IOException e) {
+            if (measured) {
+                endpoint.recordFailure(plannedNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HttpRequest request(Scenario scenario, SplittableRandom random) {
+        return switch (scenario) {
+            case LOGIN -> loginRequest("gen-" + random.nextInt(config.users()));
+            case BROWSE -> get("/api/v1/event/" + eventId(random));
+            case SEARCH -> {
+                int from = firstDay + random.nextInt(Math.max(1, lastDay - firstDay + 1));
+                yield get("/api/v1/events/availabilitySearch?dateFrom=" + LocalDate.ofEpochDay(from)
+                        + "&dateTo=" + LocalDate.ofEpochDay(from + 7 + random.nextInt(54)));
+            }
+            case BOOK -> {
+                HttpRequest.Builder builder = post("/api/v1/reservation", "{\"eventId\":" + eventId(random) + "}");
+                if (!tokens.isEmpty()) {
+                    builder.header("Authorization", "Bearer " + tokens.get(random.nextInt(tokens.size())));
+                }
+                yield builder.build();
+            }
+            case FEEDBACK -> {
+                int n = random.nextInt(1_000_000);
+                yield post("/api/v1/feedback", "{\"name\":\"Load Test " + n % 1000 + "\",\"email\":\"user" + n % 1000
+                        + "@example.com\",\"subject\":\"Feedback " + n + "\",\"message\":\"Generated by the load test, entry "
+                        + n + "\"}").build();
+            }
+        };
+    }
+
+    private int eventId(SplittableRandom random) {
+        return random.nextDouble() < HOT_SHARE
+                ? hotEventIds[random.nextInt(hotEventIds.length)]
+                : eventIds[random.nextInt(eventIds.length)];
+    }
+
+    private HttpRequest loginRequest(String studentId) {
+        return post("/api/v1/login", "{\"studentId\":\"" + studentId + "\",\"password\":\"" + config.password() + "\"}").build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+}
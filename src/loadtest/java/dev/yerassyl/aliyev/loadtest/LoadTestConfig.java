@@ -0,0 +1,48 @@
+package dev.yerassyl.aliyev.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test settings, read from 'loadtest.*' system properties (set by the loadtest Maven profile)
+ *
+ * @param url          application to test, empty - start it in this JVM on H2 with the datagen profile
+ * @param rate         requests started per second, whatever the response times are (open loop)
+ * @param arrival      'poisson' - random gaps with the given mean rate, 'constant' - even gaps
+ * @param warmup       load before the measurement, its latencies are discarded
+ * @param duration     measured load
+ * @param mix          scenario weights, e.g. 'login:5,browse:45,search:25,book:20,feedback:5'
+ * @param maxInFlight  requests waiting for a response at most, arrivals beyond it are dropped and counted
+ * @param sessions     logged in users sharing the booking traffic
+ * @param users        generated users (gen-0 ... gen-N) to log in as
+ * @param events       generated events, used by the embedded application
+ * @param reservations generated reservations, used by the embedded application
+ * @param password     password of the generated users
+ * @param reportDir    directory for the JSON report and the HdrHistogram logs
+ * @param baseline     earlier JSON report to compare with, null for none
+ * @param seed         seed of the arrivals, scenarios and request parameters
+ */
+record LoadTestConfig(String url, double rate, String arrival, Duration warmup, Duration duration, String mix,
+                      int maxInFlight, int sessions, int users, int events, int reservations, String password,
+                      Path reportDir, Path baseline, long seed) {
+
+    static LoadTestConfig fromSystemProperties() {
+        String baseline = System.getProperty("loadtest.baseline", "");
+        return new LoadTestConfig(
+                System.getProperty("loadtest.url", ""),
+                Double.parseDouble(System.getProperty("loadtest.rate", "200")),
+                System.getProperty("loadtest.arrival", "poisson"),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup", 15)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration", 60)),
+                System.getProperty("loadtest.mix", "login:5,browse:45,search:25,book:20,feedback:5"),
+                Integer.getInteger("loadtest.max-in-flight", 2000),
+                Integer.getInteger("loadtest.sessions", 100),
+                Integer.getInteger("loadtest.users", 10_000),
+                Integer.getInteger("loadtest.events", 10_000),
+                Integer.getInteger("loadtest.reservations", 100_000),
+                System.getProperty("loadtest.password", "password"),
+                Path.of(System.getProperty("loadtest.report", "target/loadtest")),
+                baseline.isBlank() ? null : Path.of(baseline),
+                Long.getLong("loadtest.seed", 42));
+    }
+}
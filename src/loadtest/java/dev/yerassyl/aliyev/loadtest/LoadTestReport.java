@@ -0,0 +1,106 @@
+package dev.yerassyl.aliyev.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Result of a load test run: a table on the console, a JSON report that later runs are compared with and
+ * the per scenario histograms in HdrHistogram log format (for HistogramLogAnalyzer or hdr-plot)
+ *
+ * @param startedAt start of the measurement, ISO date-time
+ * @param settings  load settings of the run, runs are only comparable with the same settings
+ * @param endpoints one entry per scenario
+ */
+record LoadTestReport(String startedAt, Map<String, String> settings, List<Endpoint> endpoints) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Measured results of one scenario, latencies in milliseconds
+     */
+    record Endpoint(String scenario, String endpoint, long requests, double throughput, long ok, long rejected,
+                    long throttled, long serverErrors, long failures, long dropped,
+                    double meanMs, double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs) {
+
+        static Endpoint of(EndpointStats stats, Histogram latencies, double seconds) {
+            long requests = latencies.getTotalCount();
+            return new Endpoint(stats.scenario().key(), stats.scenario().endpoint(), requests, requests / seconds,
+                    stats.ok(), stats.rejected(), stats.throttled(), stats.serverErrors(), stats.failures(), stats.dropped(),
+                    latencies.getMean() / 1000, millis(latencies, 50), millis(latencies, 90), millis(latencies, 99),
+                    millis(latencies, 99.9), latencies.getMaxValue() / 1000.0);
+        }
+
+        private static double millis(Histogram latencies, double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+
+    void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%n%-9s %9s %9s %8s %8s %6s %6s %6s %7s %9s %9s %9s %9s %9s%n", "scenario", "requests",
+                "req/s", "ok", "4xx", "429", "5xx", "failed", "dropped", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Endpoint e : endpoints) {
+            out.printf(Locale.ROOT, "%-9s %9d %9.1f %8d %8d %6d %6d %6d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n", e.scenario(),
+                    e.requests(), e.throughput(), e.ok(), e.rejected(), e.throttled(), e.serverErrors(), e.failures(),
+                    e.dropped(), e.p50Ms(), e.p90Ms(), e.p99Ms(), e.p999Ms(), e.maxMs());
+        }
+    }
+
+    /**
+     * Prints the latency change of every scenario against an earlier report
+     */
+    void printComparison(LoadTestReport baseline, PrintStream out) {
+        if (!baseline.settings().equals(settings)) {
+            out.println("\nWARNING: the baseline was run with other settings: " + baseline.settings());
+        }
+        out.printf(Locale.ROOT, "%nAgainst the baseline of %s:%n%-9s %16s %16s %16s %16s%n", baseline.startedAt(),
+                "scenario", "req/s", "p50 ms", "p99 ms", "p99.9 ms");
+        for (Endpoint e : endpoints) {
+            Optional<Endpoint> before = baseline.endpoints().stream()
+                    .filter(b -> b.scenario().equals(e.scenario()))
+                    .findFirst();
+            if (before.isEmpty()) {
+                out.printf(Locale.ROOT, "%-9s %16s%n", e.scenario(), "not in baseline");
+                continue;
+            }
+            Endpoint b = before.get();
+            out.printf(Locale.ROOT, "%-9s %16s %16s %16s %16s%n", e.scenario(), change(b.throughput(), e.throughput()),
+                    change(b.p50Ms(), e.p50Ms()), change(b.p99Ms(), e.p99Ms()), change(b.p999Ms(), e.p999Ms()));
+        }
+    }
+
+    private static String change(double before, double after) {
+        String percent = before == 0 ? "" : String.format(Locale.ROOT, " %+.0f%%", (after - before) * 100 / before);
+        return String.format(Locale.ROOT, "%.2f%s", after, percent);
+    }
+
+    /**
+     * Writes report.json and one HdrHistogram log per scenario into the directory
+     */
+    void write(Path directory, List<Histogram> latencies) throws IOException {
+        Files.createDirectories(directory);
+        MAPPER.writeValue(directory.resolve("report.json").toFile(), this);
+        for (int i = 0; i < endpoints.size(); i++) {
+            try (PrintStream log = new PrintStream(Files.newOutputStream(directory.resolve(endpoints.get(i).scenario() + ".hlog")))) {
+                HistogramLogWriter writer = new HistogramLogWriter(log);
+                writer.outputLogFormatVersion();
+                writer.outputLegend();
+                writer.outputIntervalHistogram(latencies.get(i));
+            }
+        }
+    }
+
+    static LoadTestReport read(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), LoadTestReport.class);
+    }
+}
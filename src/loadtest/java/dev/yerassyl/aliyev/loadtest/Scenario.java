@@ -0,0 +1,37 @@
+package dev.yerassyl.aliyev.loadtest;
+
+/**
+ * Kinds of user traffic in the mix, one endpoint each so every scenario gets its own latency histogram
+ */
+enum Scenario {
+    LOGIN("login", "POST /api/v1/login"),
+    BROWSE("browse", "GET /api/v1/event/{id}"),
+    SEARCH("search", "GET /api/v1/events/availabilitySearch"),
+    BOOK("book", "POST /api/v1/reservation"),
+    FEEDBACK("feedback", "POST /api/v1/feedback");
+
+    private final String key;
+    private final String endpoint;
+
+    Scenario(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    static Scenario of(String key) {
+        for (Scenario scenario : values()) {
+            if (scenario.key.equalsIgnoreCase(key.trim())) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario '" + key + "', expected login, browse, search, book or feedback");
+    }
+}
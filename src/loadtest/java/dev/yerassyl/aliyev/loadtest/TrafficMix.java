@@ -0,0 +1,60 @@
+package dev.yerassyl.aliyev.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Weighted choice of the next scenario, parsed from 'scenario:weight,...'
+ */
+final class TrafficMix {
+
+    private final Scenario[] scenarios;
+    private final double[] cumulative;
+    private final Map<Scenario, Double> shares = new EnumMap<>(Scenario.class);
+
+    TrafficMix(String mix) {
+        Map<Scenario, Double> weights = new EnumMap<>(Scenario.class);
+        for (String part : mix.split(",")) {
+            String[] pair = part.split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + part + "', expected scenario:weight");
+            }
+            double weight = Double.parseDouble(pair[1].trim());
+            if (weight > 0) {
+                weights.merge(Scenario.of(pair[0]), weight, Double::sum);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The traffic mix '" + mix + "' has no positive weights");
+        }
+        double total = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+        scenarios = weights.keySet().toArray(Scenario[]::new);
+        cumulative = new double[scenarios.length];
+        double sum = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            double share = weights.get(scenarios[i]) / total;
+            shares.put(scenarios[i], share);
+            sum += share;
+            cumulative[i] = sum;
+        }
+    }
+
+    Scenario next(SplittableRandom random) {
+        double x = random.nextDouble();
+        for (int i = 0; i < cumulative.length - 1; i++) {
+            if (x < cumulative[i]) {
+                return scenarios[i];
+            }
+        }
+        return scenarios[scenarios.length - 1];
+    }
+
+    boolean includes(Scenario scenario) {
+        return shares.containsKey(scenario);
+    }
+
+    Map<Scenario, Double> shares() {
+        return shares;
+    }
+}
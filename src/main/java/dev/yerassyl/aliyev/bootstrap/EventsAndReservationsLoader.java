@@ -11,6 +11,11 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
+/**
+ * Small demo catalog for an empty database. Load tests use the 'datagen' profile instead, see SyntheticDataGenerator
+ */
 @Slf4j
 @Component
 @AllArgsConstructor
@@ -65,13 +70,18 @@ public class EventsAndReservationsLoader implements CommandLineRunner {
                 .status(true)
                 .build();
 
-        reservationRepository.save(r1);
-        reservationRepository.save(r2);
-        reservationRepository.save(r3);
-        reservationRepository.save(r4);
-        reservationRepository.save(r5);
+        List<Reservation> saved = reservationRepository.saveAll(List.of(r1, r2, r3, r4, r5));
+
+        syncSeatCounters();
+
+        log.info("Loaded Reservations: " + saved.size());
+    }
 
-        log.info("Loaded Reservations: " + reservationRepository.count());
+    /**
+     * Seed reservations bypass the booking path, so align every event's seat counter with its reservations
+     */
+    private void syncSeatCounters() {
+        eventRepository.syncSeatsTaken();
     }
 
     private void loadEventObject() {
@@ -120,12 +130,8 @@ public class EventsAndReservationsLoader implements CommandLineRunner {
                 .status(true)
                 .build();
 
-        eventRepository.save(h1);
-        eventRepository.save(h2);
-        eventRepository.save(h3);
-        eventRepository.save(h4);
-        eventRepository.save(h5);
+        List<Event> saved = eventRepository.saveAll(List.of(h1, h2, h3, h4, h5));
 
-        log.info("Loaded Events: " + eventRepository.count());
+        log.info("Loaded Events: " + saved.size());
     }
 }
@@ -0,0 +1,328 @@
+package dev.yerassyl.aliyev.bootstrap;
+
+import dev.yerassyl.aliyev.cache.EventAvailabilityIndex;
+import dev.yerassyl.aliyev.entity.ValidTypesOfHotelsEnum;
+import dev.yerassyl.aliyev.security.PasswordHasher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Large synthetic dataset for load tests, enabled with the 'datagen' profile (settings in application-datagen.properties).
+ * <p>
+ * Generates N events, M users and K reservations: a small share of hot events receives a large share of the
+ * reservations, and students book with a Zipf skew, so a few studentIds hold most of the bookings. The plan is
+ * derived from the seed alone, rows are inserted with JDBC batches in parallel chunks (each chunk one transaction)
+ * and seats_taken is written together with the events.
+ * <p>
+ * Idempotent: generated rows are recognised by their prefixes ('Datagen Event ', 'gen-'). A table already holding
+ * the planned number of rows is left alone, an incomplete one (interrupted run, other settings) is cleared and
+ * generated again. When only the reservations are generated again, seats_taken of the kept events is rewritten
+ * from the new plan.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    static final String EVENT_PREFIX = "Datagen Event ";
+    static final String STUDENT_PREFIX = "gen-";
+    private static final ValidTypesOfHotelsEnum[] TYPES = {
+            ValidTypesOfHotelsEnum.CONCERT, ValidTypesOfHotelsEnum.WORKSHOP, ValidTypesOfHotelsEnum.CONFERENCE};
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+    // Rounds of resampling for duplicate (event, student) pairs before settling for fewer reservations
+    private static final int MAX_PLAN_ROUNDS = 50;
+
+    private static final String INSERT_EVENT = "INSERT INTO event (name, type, description, available_from, " +
+            "available_to, status, capacity, seats_taken, created_date, last_modified_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER = "INSERT INTO user_table (student_id, name, surname, password, " +
+            "created_date, last_modified_date) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SEATS_TAKEN = "UPDATE event SET seats_taken = ?, capacity = GREATEST(capacity, ?) " +
+            "WHERE id = ?";
+    private static final String INSERT_RESERVATION = "INSERT INTO reservation (event_id, check_in, status, " +
+            "created_date, last_modified_date) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordHasher passwordHasher;
+    private final EventAvailabilityIndex availabilityIndex;
+    private final int events;
+    private final int users;
+    private final long reservations;
+    private final double hotEventShare;
+    private final double hotTrafficShare;
+    private final double studentSkew;
+    private final int eventCapacity;
+    private final String userPassword;
+    private final int batchSize;
+    private final int threads;
+    private final long seed;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  PasswordHasher passwordHasher, EventAvailabilityIndex availabilityIndex,
+                                  @Value("${app.datagen.events}") int events,
+                                  @Value("${app.datagen.users}") int users,
+                                  @Value("${app.datagen.reservations}") long reservations,
+                                  @Value("${app.datagen.hot-event-share}") double hotEventShare,
+                                  @Value("${app.datagen.hot-traffic-share}") double hotTrafficShare,
+                                  @Value("${app.datagen.student-skew}") double studentSkew,
+                                  @Value("${app.datagen.event-capacity}") int eventCapacity,
+                                  @Value("${app.datagen.user-password}") String userPassword,
+                                  @Value("${app.datagen.batch-size}") int batchSize,
+                                  @Value("${app.datagen.threads}") int threads,
+                                  @Value("${app.datagen.seed}") long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordHasher = passwordHasher;
+        this.availabilityIndex = availabilityIndex;
+        this.events = Math.max(0, events);
+        this.users = Math.max(0, users);
+        this.reservations = Math.max(0, reservations);
+        this.hotEventShare = hotEventShare;
+        this.hotTrafficShare = hotTrafficShare;
+        this.studentSkew = studentSkew;
+        this.eventCapacity = eventCapacity;
+        this.userPassword = userPassword;
+        this.batchSize = Math.max(1, batchSize);
+        this.threads = Math.max(1, threads);
+        this.seed = seed;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        long start = System.nanoTime();
+        long[] plan = planReservations();
+        int[] seatsTaken = new int[events];
+        for (long pair : plan) {
+            seatsTaken[eventOf(pair)]++;
+        }
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            if (count("SELECT COUNT(*) FROM user_table WHERE student_id LIKE ?", STUDENT_PREFIX + "%") != users) {
+                jdbcTemplate.update("DELETE FROM user_table WHERE student_id LIKE ?", STUDENT_PREFIX + "%");
+                insertUsers(executor);
+            }
+
+            boolean eventsGenerated = false;
+            if (count("SELECT COUNT(*) FROM event WHERE name LIKE ?", EVENT_PREFIX + "%") != events) {
+                // Reservations point at the old event ids, they go first
+                jdbcTemplate.update("DELETE FROM reservation WHERE check_in LIKE ?", STUDENT_PREFIX + "%");
+                jdbcTemplate.update("DELETE FROM event WHERE name LIKE ?", EVENT_PREFIX + "%");
+                insertEvents(executor, seatsTaken);
+                eventsGenerated = true;
+            }
+
+            if (eventsGenerated
+                    || count("SELECT COUNT(*) FROM reservation WHERE check_in LIKE ?", STUDENT_PREFIX + "%") != plan.length) {
+                jdbcTemplate.update("DELETE FROM reservation WHERE check_in LIKE ?", STUDENT_PREFIX + "%");
+                int[] eventIds = eventIds();
+                if (!eventsGenerated) {
+                    // The kept events still count the seats of the old plan
+                    updateSeatsTaken(executor, seatsTaken, eventIds);
+                }
+                insertReservations(executor, plan, eventIds);
+            }
+        }
+
+        availabilityIndex.eventsChanged();
+        log.info("Synthetic dataset ready in {} ms: {} events, {} users, {} reservations",
+                (System.nanoTime() - start) / 1_000_000, events, users, plan.length);
+    }
+
+    /**
+     * Distinct (event, student) pairs packed as event index << 32 | student index, sorted by event
+     */
+    long[] planReservations() {
+        if (events == 0 || users == 0) {
+            return new long[0];
+        }
+        // Every student books an event at most once
+        int size = (int) Math.min(Math.min(reservations, (long) events * users), Integer.MAX_VALUE - 8);
+        long[] pairs = new long[size];
+        double[] studentWeights = cumulativeZipf(users, studentSkew);
+        int hotEvents = (int) Math.max(1, Math.round(events * hotEventShare));
+        SplittableRandom random = new SplittableRandom(seed);
+
+        int filled = 0;
+        for (int round = 0; round < MAX_PLAN_ROUNDS && filled < size; round++) {
+            for (int i = filled; i < size; i++) {
+                int event = random.nextDouble() < hotTrafficShare ? random.nextInt(hotEvents) : random.nextInt(events);
+                int student = Arrays.binarySearch(studentWeights, random.nextDouble());
+                student = student < 0 ? Math.min(-student - 1, users - 1) : student;
+                pairs[i] = (long) event << 32 | student;
+            }
+            Arrays.parallelSort(pairs);
+            filled = 0;
+            for (int i = 0; i < size; i++) {
+                if (i == 0 || pairs[i] != pairs[i - 1]) {
+                    pairs[filled++] = pairs[i];
+                }
+            }
+            // Duplicates are dropped, the free tail is sampled again; keep the unique pairs sorted at the front
+            Arrays.fill(pairs, filled, size, Long.MAX_VALUE);
+        }
+        if (filled < size) {
+            log.warn("Only {} distinct reservations fit the skew settings, {} requested", filled, size);
+        }
+        return filled < size ? Arrays.copyOf(pairs, filled) : pairs;
+    }
+
+    /**
+     * Cumulative Zipf distribution over ranks 0..n-1, rank 0 the most frequent
+     */
+    private static double[] cumulativeZipf(int n, double exponent) {
+        double[] weights = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            weights[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            weights[rank] /= sum;
+        }
+        return weights;
+    }
+
+    private static int eventOf(long pair) {
+        return (int) (pair >>> 32);
+    }
+
+    private static int studentOf(long pair) {
+        return (int) pair;
+    }
+
+    private void insertUsers(ExecutorService executor) throws Exception {
+        long start = System.nanoTime();
+        // One hash for all generated users: hashing a million passwords would take hours and proves nothing
+        String password = passwordHasher.hash(userPassword);
+        inChunks(executor, users, (from, to, now) ->
+                jdbcTemplate.batchUpdate(INSERT_USER, indexes(from, to), batchSize, (statement, i) -> {
+                    statement.setString(1, STUDENT_PREFIX + i);
+                    statement.setString(2, "Generated");
+                    statement.setString(3, "Student " + i);
+                    statement.setString(4, password);
+                    statement.setTimestamp(5, now);
+                    statement.setTimestamp(6, now);
+                }));
+        logPhase("users", users, start);
+    }
+
+    private void insertEvents(ExecutorService executor, int[] seatsTaken) throws Exception {
+        long start = System.nanoTime();
+        inChunks(executor, events, (from, to, now) ->
+                jdbcTemplate.batchUpdate(INSERT_EVENT, indexes(from, to), batchSize, (statement, i) -> {
+                    SplittableRandom random = new SplittableRandom(seed ^ (i * 0x9E3779B97F4A7C15L));
+                    LocalDate availableFrom = FIRST_DAY.plusDays(random.nextInt(3 * 365));
+                    statement.setString(1, EVENT_PREFIX + i);
+                    // Stored by ordinal like the entity mapping
+                    statement.setInt(2, TYPES[random.nextInt(TYPES.length)].ordinal());
+                    statement.setString(3, "Synthetic event for load tests");
+                    statement.setObject(4, availableFrom, Types.DATE);
+                    statement.setObject(5, availableFrom.plusDays(random.nextInt(30)), Types.DATE);
+                    statement.setBoolean(6, true);
+                    // Hot events are sold out rather than overbooked
+                    statement.setInt(7, Math.max(eventCapacity, seatsTaken[i]));
+                    statement.setInt(8, seatsTaken[i]);
+                    statement.setTimestamp(9, now);
+                    statement.setTimestamp(10, now);
+                }));
+        logPhase("events", events, start);
+    }
+
+    private void updateSeatsTaken(ExecutorService executor, int[] seatsTaken, int[] eventIds) throws Exception {
+        long start = System.nanoTime();
+        inChunks(executor, events, (from, to, now) ->
+                jdbcTemplate.batchUpdate(UPDATE_SEATS_TAKEN, indexes(from, to), batchSize, (statement, i) -> {
+                    statement.setInt(1, seatsTaken[i]);
+                    statement.setInt(2, seatsTaken[i]);
+                    statement.setInt(3, eventIds[i]);
+                }));
+        logPhase("seat counters", events, start);
+    }
+
+    private void insertReservations(ExecutorService executor, long[] plan, int[] eventIds) throws Exception {
+        long start = System.nanoTime();
+        inChunks(executor, plan.length, (from, to, now) ->
+                jdbcTemplate.batchUpdate(INSERT_RESERVATION, indexes(from, to), batchSize, (statement, i) -> {
+                    statement.setInt(1, eventIds[eventOf(plan[i])]);
+                    statement.setString(2, STUDENT_PREFIX + studentOf(plan[i]));
+                    statement.setBoolean(3, true);
+                    statement.setTimestamp(4, now);
+                    statement.setTimestamp(5, now);
+                }));
+        logPhase("reservations", plan.length, start);
+    }
+
+    /**
+     * Database ids of the generated events by index, chunks commit in any order so ids are read back by name
+     */
+    private int[] eventIds() {
+        int[] ids = new int[events];
+        jdbcTemplate.query("SELECT id, name FROM event WHERE name LIKE ?", rs -> {
+            ids[Integer.parseInt(rs.getString(2).substring(EVENT_PREFIX.length()))] = rs.getInt(1);
+        }, EVENT_PREFIX + "%");
+        return ids;
+    }
+
+    /**
+     * Splits 0..total-1 into chunks of 'batch-size', each inserted in its own transaction on the executor
+     */
+    private void inChunks(ExecutorService executor, int total, ChunkWriter writer) throws Exception {
+        List<Future<?>> chunks = new ArrayList<>();
+        for (int from = 0; from < total; from += batchSize) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(total, from + batchSize);
+            chunks.add(executor.submit(() -> transactionTemplate.executeWithoutResult(status ->
+                    writer.write(chunkFrom, chunkTo, Timestamp.valueOf(LocalDateTime.now())))));
+        }
+        try {
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (ExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(false));
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    private long count(String sql, String prefix) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, prefix);
+        return count != null ? count : 0;
+    }
+
+    private static List<Integer> indexes(int from, int to) {
+        List<Integer> indexes = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            indexes.add(i);
+        }
+        return indexes;
+    }
+
+    private static void logPhase(String table, long rows, long start) {
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Generated {} {} in {} ms ({} rows/s)", rows, table, millis, rows * 1000 / millis);
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(int from, int to, Timestamp now);
+    }
+}
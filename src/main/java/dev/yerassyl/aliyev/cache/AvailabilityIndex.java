@@ -0,0 +1,171 @@
+package dev.yerassyl.aliyev.cache;
+
+import dev.yerassyl.aliyev.dto.EventView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Events with availability dates, sorted by (availableFrom, id) in primitive arrays of epoch days,
+ * with a min segment tree over availableTo. Answers "starts on or after 'from', ends on or before 'to',
+ * has free seats" by binary searching the start range and descending only into subtrees whose
+ * earliest end still fits, so the cost is O(log n + k log(n / k)) for k results.
+ * <p>
+ * Full events get an end of Integer.MAX_VALUE in the tree, which prunes them like any non-matching interval.
+ * Not thread safe, EventAvailabilityIndex guards it with a read/write lock.
+ */
+public final class AvailabilityIndex {
+
+    private static final int NOT_BOOKABLE = Integer.MAX_VALUE;
+
+    private final int[] starts;
+    private final int[] ends;
+    private final EventView[] events;
+    private final Map<Integer, Integer> positions;
+    private final int leaves;
+    private final int[] minEnd;
+
+    private AvailabilityIndex(EventView[] events, int[] starts, int[] ends) {
+        this.events = events;
+        this.starts = starts;
+        this.ends = ends;
+        this.positions = new HashMap<>(events.length * 2);
+
+        int leafCount = 1;
+        while (leafCount < Math.max(1, events.length)) {
+            leafCount <<= 1;
+        }
+        this.leaves = leafCount;
+        this.minEnd = new int[leafCount * 2];
+        Arrays.fill(minEnd, NOT_BOOKABLE);
+
+        for (int i = 0; i < events.length; i++) {
+            positions.put(events[i].id(), i);
+            minEnd[leafCount + i] = bookable(events[i]) ? ends[i] : NOT_BOOKABLE;
+        }
+        for (int node = leafCount - 1; node > 0; node--) {
+            minEnd[node] = Math.min(minEnd[2 * node], minEnd[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Builds the index, events without both dates are left out as they can never match a search
+     *
+     * @param events    event projections, kept and returned by find
+     * @param toEpochDay converts an availableFrom/availableTo value to its epoch day
+     */
+    public static AvailabilityIndex of(List<EventView> events, ToIntFunction<String> toEpochDay) {
+        record Entry(EventView event, int start, int end) {
+        }
+        List<Entry> entries = new ArrayList<>(events.size());
+        for (EventView event : events) {
+            if (event.availableFrom() != null && event.availableTo() != null) {
+                entries.add(new Entry(event, toEpochDay.applyAsInt(event.availableFrom()),
+                        toEpochDay.applyAsInt(event.availableTo())));
+            }
+        }
+        entries.sort(Comparator.comparingInt(Entry::start).thenComparing(entry -> entry.event().id()));
+
+        EventView[] sortedEvents = new EventView[entries.size()];
+        int[] starts = new int[entries.size()];
+        int[] ends = new int[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            sortedEvents[i] = entries.get(i).event();
+            starts[i] = entries.get(i).start();
+            ends[i] = entries.get(i).end();
+        }
+        return new AvailabilityIndex(sortedEvents, starts, ends);
+    }
+
+    /**
+     * Events available between the dates with free seats, ordered by availableFrom then id
+     */
+    public List<EventView> find(int fromDay, int toDay) {
+        List<EventView> result = new ArrayList<>();
+        int lo = lowerBound(fromDay);
+        int hi = lowerBound(toDay == Integer.MAX_VALUE ? toDay : toDay + 1);
+        if (lo < hi) {
+            collect(1, 0, leaves, lo, hi, toDay, result);
+        }
+        return result;
+    }
+
+    private void collect(int node, int nodeLo, int nodeHi, int lo, int hi, int toDay, List<EventView> result) {
+        if (nodeHi <= lo || hi <= nodeLo || minEnd[node] > toDay) {
+            return;
+        }
+        if (node >= leaves) {
+            result.add(events[node - leaves]);
+            return;
+        }
+        int mid = (nodeLo + nodeHi) >>> 1;
+        collect(2 * node, nodeLo, mid, lo, hi, toDay, result);
+        collect(2 * node + 1, mid, nodeHi, lo, hi, toDay, result);
+    }
+
+    // First position whose start is >= day
+    private int lowerBound(int day) {
+        int lo = 0;
+        int hi = starts.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] < day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    public boolean contains(Integer eventId) {
+        return positions.containsKey(eventId);
+    }
+
+    /**
+     * Updates the seat counter of an indexed event
+     *
+     * @return false when the event is not in the index
+     */
+    public boolean updateSeats(Integer eventId, Integer capacity, Integer seatsTaken) {
+        Integer position = positions.get(eventId);
+        if (position == null) {
+            return false;
+        }
+        // Views are immutable, a search that already returned the old one keeps a consistent copy
+        EventView event = events[position].withSeats(capacity, seatsTaken);
+        events[position] = event;
+
+        int node = leaves + position;
+        minEnd[node] = bookable(event) ? ends[position] : NOT_BOOKABLE;
+        for (node >>= 1; node > 0; node >>= 1) {
+            minEnd[node] = Math.min(minEnd[2 * node], minEnd[2 * node + 1]);
+        }
+        return true;
+    }
+
+    /**
+     * Whether the event still has the dates it was indexed with
+     */
+    public boolean hasSameDates(EventView event, ToIntFunction<String> toEpochDay) {
+        Integer position = positions.get(event.id());
+        if (position == null || event.availableFrom() == null || event.availableTo() == null) {
+            return position == null && (event.availableFrom() == null || event.availableTo() == null);
+        }
+        return starts[position] == toEpochDay.applyAsInt(event.availableFrom())
+                && ends[position] == toEpochDay.applyAsInt(event.availableTo());
+    }
+
+    public int size() {
+        return events.length;
+    }
+
+    private static boolean bookable(EventView event) {
+        return event.hasFreeSeats();
+    }
+}
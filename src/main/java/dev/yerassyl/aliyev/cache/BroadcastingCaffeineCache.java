@@ -0,0 +1,59 @@
+package dev.yerassyl.aliyev.cache;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.function.Consumer;
+
+/**
+ * Caffeine cache that reports every eviction to the other replicas.
+ * Stays a CaffeineCache so the actuator still binds its hit/miss metrics.
+ */
+public class BroadcastingCaffeineCache extends CaffeineCache {
+
+    private final Consumer<CacheInvalidation> broadcaster;
+    private final String origin;
+
+    public BroadcastingCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                     boolean allowNullValues, String origin, Consumer<CacheInvalidation> broadcaster) {
+        super(name, cache, allowNullValues);
+        this.origin = origin;
+        this.broadcaster = broadcaster;
+    }
+
+    @Override
+    public void evict(Object key) {
+        super.evict(key);
+        broadcaster.accept(new CacheInvalidation(origin, getName(), key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = super.evictIfPresent(key);
+        broadcaster.accept(new CacheInvalidation(origin, getName(), key));
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        broadcaster.accept(new CacheInvalidation(origin, getName(), null));
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean notEmpty = super.invalidate();
+        broadcaster.accept(new CacheInvalidation(origin, getName(), null));
+        return notEmpty;
+    }
+
+    /**
+     * Applies an eviction received from another replica without broadcasting it again
+     */
+    void applyRemote(CacheInvalidation invalidation) {
+        if (invalidation.key() == null) {
+            super.invalidate();
+        } else {
+            super.evictIfPresent(invalidation.key());
+        }
+    }
+}
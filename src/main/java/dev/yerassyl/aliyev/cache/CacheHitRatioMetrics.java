@@ -0,0 +1,40 @@
+package dev.yerassyl.aliyev.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hit ratio of every Caffeine cache since start, next to the hit/miss counters Actuator already exports
+ * (cache.gets{result}). Needs 'recordStats' in the cache spec, otherwise the ratio stays at 1.
+ * <p>
+ * Metrics: cache.hit.ratio{cache}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheHitRatioMetrics implements MeterBinder {
+
+    private final CacheManager cacheManager;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof TransactionAwareCacheDecorator decorator) {
+                cache = decorator.getTargetCache();
+            }
+            if (cache instanceof CaffeineCache caffeineCache) {
+                Gauge.builder("cache.hit.ratio", caffeineCache, c -> c.getNativeCache().stats().hitRate())
+                        .description("Share of cache reads answered from the cache")
+                        .tag("cache", name)
+                        .register(registry);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package dev.yerassyl.aliyev.cache;
+
+/**
+ * Eviction of one cache entry (or of the whole cache when key is null) broadcast to the other replicas
+ *
+ * @param origin    id of the node that made the change, used to skip our own messages
+ * @param cacheName name of the cache to evict from, null for every cache (see {@link #everything})
+ * @param key       Integer or String key, null to clear the whole cache
+ */
+public record CacheInvalidation(String origin, String cacheName, Object key) {
+
+    private static final String SEPARATOR = "|";
+    private static final String ALL_KEYS = "*";
+    private static final String ALL_CACHES = "*";
+
+    /**
+     * Anything cached may be stale, e.g. evictions were missed while the listener was disconnected:
+     * every cache is cleared and the availability index is rebuilt
+     */
+    public static CacheInvalidation everything(String origin) {
+        return new CacheInvalidation(origin, null, null);
+    }
+
+    public boolean isEverything() {
+        return cacheName == null;
+    }
+
+    /**
+     * Encodes the message as 'origin|cache|*', 'origin|cache|I:42' or 'origin|cache|S:value'
+     */
+    public String toPayload() {
+        String encodedKey;
+        if (key == null) {
+            encodedKey = ALL_KEYS;
+        } else if (key instanceof Integer) {
+            encodedKey = "I:" + key;
+        } else {
+            encodedKey = "S:" + key;
+        }
+        return origin + SEPARATOR + (cacheName == null ? ALL_CACHES : cacheName) + SEPARATOR + encodedKey;
+    }
+
+    public static CacheInvalidation fromPayload(String payload) {
+        int first = payload.indexOf(SEPARATOR);
+        int second = payload.indexOf(SEPARATOR, first + 1);
+        if (first < 0 || second < 0) {
+            throw new IllegalArgumentException("Malformed cache invalidation payload: " + payload);
+        }
+        String origin = payload.substring(0, first);
+        String cacheName = payload.substring(first + 1, second);
+        if (ALL_CACHES.equals(cacheName)) {
+            cacheName = null;
+        }
+        String encodedKey = payload.substring(second + 1);
+
+        Object key;
+        if (ALL_KEYS.equals(encodedKey)) {
+            key = null;
+        } else if (encodedKey.startsWith("I:")) {
+            key = Integer.valueOf(encodedKey.substring(2));
+        } else if (encodedKey.startsWith("S:")) {
+            key = encodedKey.substring(2);
+        } else {
+            throw new IllegalArgumentException("Malformed cache invalidation key: " + payload);
+        }
+        return new CacheInvalidation(origin, cacheName, key);
+    }
+}
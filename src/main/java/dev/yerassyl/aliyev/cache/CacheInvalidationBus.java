@@ -0,0 +1,13 @@
+package dev.yerassyl.aliyev.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Channel that carries cache evictions between the API replicas
+ */
+public interface CacheInvalidationBus {
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
@@ -0,0 +1,51 @@
+package dev.yerassyl.aliyev.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Caffeine cache manager whose caches stay coherent across replicas:
+ * local evictions are published on the bus and evictions from other nodes are applied locally.
+ */
+@Slf4j
+public class ClusterCaffeineCacheManager extends CaffeineCacheManager {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final CacheInvalidationBus bus;
+
+    public ClusterCaffeineCacheManager(CacheInvalidationBus bus, String... cacheNames) {
+        this.bus = bus;
+        // Caches are created only now, adaptCaffeineCache needs the bus and node id
+        setCacheNames(List.of(cacheNames));
+        bus.subscribe(this::onInvalidation);
+    }
+
+    @Override
+    protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        return new BroadcastingCaffeineCache(name, cache, isAllowNullValues(), nodeId, bus::publish);
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        if (invalidation.isEverything()) {
+            log.info("Clearing all caches, evictions from other nodes may have been missed");
+            for (String name : getCacheNames()) {
+                if (getCache(name) instanceof BroadcastingCaffeineCache cache) {
+                    cache.applyRemote(invalidation);
+                }
+            }
+            return;
+        }
+        if (getCache(invalidation.cacheName()) instanceof BroadcastingCaffeineCache cache) {
+            log.debug("Applying cache invalidation from node {}: {} {}", invalidation.origin(),
+                    invalidation.cacheName(), invalidation.key() == null ? "*" : invalidation.key());
+            cache.applyRemote(invalidation);
+        }
+    }
+}
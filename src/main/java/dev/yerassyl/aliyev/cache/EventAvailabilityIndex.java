@@ -0,0 +1,172 @@
+package dev.yerassyl.aliyev.cache;
+
+import dev.yerassyl.aliyev.constants.AppConstants;
+import dev.yerassyl.aliyev.dto.EventView;
+import dev.yerassyl.aliyev.repository.EventRepository;
+import dev.yerassyl.aliyev.validator.BaseValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * In-memory availability index answering /events/availabilitySearch without a query per request.
+ * <p>
+ * Built when the application is ready. Event writes mark it for a rebuild, bookings and cancellations
+ * mark only their event, whose seat counter is re-read (one lookup by id) before the next search.
+ * Both are signalled after commit and broadcast on the cache invalidation bus, so other replicas
+ * follow changes made here.
+ */
+@Slf4j
+@Component
+public class EventAvailabilityIndex {
+
+    static final ToIntFunction<String> EPOCH_DAY = BaseValidator::parseDate;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final EventRepository eventRepository;
+    private final CacheInvalidationBus bus;
+    private final TransactionTemplate outsideTransaction;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private final Set<Integer> dirtyEvents = ConcurrentHashMap.newKeySet();
+    private volatile AvailabilityIndex index;
+
+    public EventAvailabilityIndex(EventRepository eventRepository, CacheInvalidationBus bus,
+                                  PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.bus = bus;
+        // Loads run outside the caller's transaction, projections are never attached to a persistence context
+        this.outsideTransaction = new TransactionTemplate(transactionManager);
+        this.outsideTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        bus.subscribe(this::onInvalidation);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        refresh();
+    }
+
+    /**
+     * Events available between the dates ('yyyy-MM-dd') that still have free seats
+     */
+    public List<EventView> find(String dateFrom, String dateTo) {
+        refresh();
+        int from = EPOCH_DAY.applyAsInt(dateFrom);
+        int to = EPOCH_DAY.applyAsInt(dateTo);
+        lock.readLock().lock();
+        try {
+            return index.find(from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * An event was created, changed or deleted
+     */
+    public void eventsChanged() {
+        afterCommit(() -> {
+            stale.set(true);
+            bus.publish(new CacheInvalidation(nodeId, AppConstants.AVAILABILITY_INDEX, null));
+        });
+    }
+
+    /**
+     * A seat of the event was booked or released
+     */
+    public void seatsChanged(Integer eventId) {
+        afterCommit(() -> {
+            dirtyEvents.add(eventId);
+            bus.publish(new CacheInvalidation(nodeId, AppConstants.AVAILABILITY_INDEX, eventId));
+        });
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        if (invalidation.isEverything()) {
+            stale.set(true);
+            return;
+        }
+        if (!AppConstants.AVAILABILITY_INDEX.equals(invalidation.cacheName())) {
+            return;
+        }
+        if (invalidation.key() instanceof Integer eventId) {
+            dirtyEvents.add(eventId);
+        } else {
+            stale.set(true);
+        }
+    }
+
+    private void refresh() {
+        if (stale.get() || index == null) {
+            rebuild();
+        }
+        if (!dirtyEvents.isEmpty()) {
+            List<Integer> ids = new ArrayList<>(dirtyEvents);
+            dirtyEvents.removeAll(ids);
+            List<EventView> events = outsideTransaction.execute(status -> eventRepository.findViewsByIds(ids));
+            lock.writeLock().lock();
+            try {
+                for (EventView event : events) {
+                    if (index.hasSameDates(event, EPOCH_DAY)) {
+                        index.updateSeats(event.id(), event.capacity(), event.seatsTaken());
+                    } else {
+                        stale.set(true);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (stale.get()) {
+                refresh();
+            }
+        }
+    }
+
+    private synchronized void rebuild() {
+        // The flag is cleared before reading, a change committed meanwhile sets it again
+        if (stale.compareAndSet(true, false) || index == null) {
+            List<EventView> events = outsideTransaction.execute(status -> eventRepository.findAllWithAvailability());
+            AvailabilityIndex rebuilt = AvailabilityIndex.of(events, EPOCH_DAY);
+            lock.writeLock().lock();
+            try {
+                index = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Availability index built with {} events", rebuilt.size());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
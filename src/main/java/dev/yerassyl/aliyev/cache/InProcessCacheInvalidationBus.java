@@ -0,0 +1,38 @@
+package dev.yerassyl.aliyev.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Stand-in for LISTEN/NOTIFY when the database is H2: delivers evictions synchronously
+ * to every application context running in the same JVM.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation", havingValue = "in-process")
+public class InProcessCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final List<Consumer<CacheInvalidation>> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private final List<Consumer<CacheInvalidation>> ownListeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        LISTENERS.forEach(listener -> listener.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        ownListeners.add(listener);
+        LISTENERS.add(listener);
+    }
+
+    @PreDestroy
+    public void close() {
+        LISTENERS.removeAll(ownListeners);
+    }
+}
@@ -0,0 +1,155 @@
+package dev.yerassyl.aliyev.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts cache evictions to the other replicas through Postgres LISTEN/NOTIFY.
+ * Notifications are sent from a separate thread so they never join (and wait for) the caller's transaction,
+ * and received on a dedicated connection that is kept outside of the Hikari pool.
+ * <p>
+ * NOTIFY is not queued for a listener that is gone, so after a reconnect the subscribers get
+ * {@link CacheInvalidation#everything} and drop whatever they cached meanwhile.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation", havingValue = "postgres")
+public class PostgresCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final String channel;
+    private final long reconnectDelayMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService publisher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("cache-invalidation-publisher").daemon().factory());
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostgresCacheInvalidationBus(JdbcTemplate jdbcTemplate,
+                                        DataSourceProperties dataSourceProperties,
+                                        @Value("${app.cache.invalidation-channel}") String channel,
+                                        @Value("${app.cache.invalidation-reconnect-delay-ms}") long reconnectDelayMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.channel = channel;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofPlatform().name("cache-invalidation-listener").daemon().start(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        publisher.shutdown();
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        publisher.execute(() -> {
+            try {
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, channel, invalidation.toPayload());
+            } catch (Exception e) {
+                log.warn("Could not broadcast cache invalidation {}: {}", invalidation, e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Dedicated listening connection, outside of the pool
+     */
+    protected Connection connect() throws SQLException {
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = connect()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for cache invalidations on channel '{}'", channel);
+                if (reconnecting) {
+                    // Evictions broadcast while we were disconnected are lost, the caches cannot tell which
+                    deliver(CacheInvalidation.everything(nodeId));
+                    reconnecting = false;
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                reconnecting = true;
+                log.warn("Cache invalidation listener lost its connection, reconnecting: {}", e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMillis);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        CacheInvalidation invalidation;
+        try {
+            invalidation = CacheInvalidation.fromPayload(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring cache invalidation '{}': {}", payload, e.getMessage());
+            return;
+        }
+        deliver(invalidation);
+    }
+
+    private void deliver(CacheInvalidation invalidation) {
+        try {
+            listeners.forEach(listener -> listener.accept(invalidation));
+        } catch (RuntimeException e) {
+            log.warn("Could not apply cache invalidation {}: {}", invalidation, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package dev.yerassyl.aliyev.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import dev.yerassyl.aliyev.cache.CacheInvalidationBus;
+import dev.yerassyl.aliyev.cache.ClusterCaffeineCacheManager;
+import dev.yerassyl.aliyev.constants.AppConstants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Bounded in-process caches for event and user reads, kept coherent across replicas through the invalidation bus
+ */
+@EnableCaching
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(CacheInvalidationBus cacheInvalidationBus,
+                                     @Value("${app.cache.event-spec}") String eventCacheSpec,
+                                     @Value("${app.cache.user-spec}") String userCacheSpec) {
+        ClusterCaffeineCacheManager caffeineCacheManager = new ClusterCaffeineCacheManager(cacheInvalidationBus,
+                AppConstants.EVENT_CACHE, AppConstants.EVENTS_CACHE);
+        caffeineCacheManager.setCaffeineSpec(CaffeineSpec.parse(eventCacheSpec));
+        // Users are many and small, they get their own size limit
+        caffeineCacheManager.registerCustomCache(AppConstants.USER_CACHE, Caffeine.from(userCacheSpec).build());
+        caffeineCacheManager.registerCustomCache(AppConstants.USER_CREDENTIALS_CACHE, Caffeine.from(userCacheSpec).build());
+        // Evictions made inside a transaction are applied after commit,
+        // so a concurrent read can't put the pre-commit row back into the cache
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
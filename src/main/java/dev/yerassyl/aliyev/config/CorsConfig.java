@@ -1,5 +1,6 @@
 package dev.yerassyl.aliyev.config;
 
+import dev.yerassyl.aliyev.security.SessionTokenService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
@@ -21,6 +22,7 @@ public class CorsConfig {
         config.setAllowedOriginPatterns(List.of("*")); // Разрешаем все источники
         config.setAllowedHeaders(Arrays.asList("Origin", "Content-Type", "Accept", "Authorization", "X-Requested-With"));
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        config.setExposedHeaders(List.of(SessionTokenService.TOKEN_HEADER));
         config.setMaxAge(3600L);
         
         source.registerCorsConfiguration("/**", config);
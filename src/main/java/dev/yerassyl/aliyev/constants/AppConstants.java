@@ -1,5 +1,7 @@
 package dev.yerassyl.aliyev.constants;
 
+import java.util.List;
+
 public class AppConstants {
 
     public static final String DEFAULT_PAGE_NUMBER = "0";
@@ -8,6 +10,34 @@ public class AppConstants {
 
     public static final String MAX_PAGE_SIZE = "10";
 
+    public static final String DEFAULT_FEEDBACK_PAGE_SIZE = "50";
+
+    public static final String MAX_FEEDBACK_PAGE_SIZE = "500";
+
     public static final String DEFAULT_SORTING_PARAM = "name";
 
+    // Cursor pagination seeks on (sortBy, id), so only non-null columns can be used as sort keys
+    public static final List<String> CURSOR_SORTING_PARAMS = List.of("id", "name");
+
+    public static final int DEFAULT_EVENT_CAPACITY = 100;
+
+    // Rows fetched per JDBC round trip and lines per flush when streaming full listings
+    public static final String STREAM_FETCH_SIZE = "500";
+
+    public static final String EVENT_CACHE = "event";
+
+    public static final String EVENTS_CACHE = "events";
+
+    // UserResponse by user id, polled by the front end through /user/current
+    public static final String USER_CACHE = "user";
+
+    // UserCredentials by studentId, read on every login
+    public static final String USER_CREDENTIALS_CACHE = "userCredentials";
+
+    // Channel name of availability index changes on the cache invalidation bus
+    public static final String AVAILABILITY_INDEX = "availability";
+
+    // Timer of every public service method, tagged with class, method and exception
+    public static final String SERVICE_TIMER = "service.calls";
+
 }
@@ -17,14 +17,29 @@ public final class ErrorMessages {
     public static final String INVALID_EVENT_ID = "Invalid Event ID: Event ID can not be null";
     public static final String INVALID_EVENT_IN_RESERVATION = "Invalid Event ID: The Event ID does not exist";
     public static final String INVALID_ID_EXISTENCE = "Invalid ID: The id entered does not exist";
+    public static final String INVALID_CAPACITY = "Invalid Capacity: Capacity must be a number greater than zero.";
     public static final String INVALID_GUESTS = "Invalid Guests: Guests must be a non-zero number";
     public static final String PARSE_ERROR = "Internal Error: A parsing error occurred.";
     public static final String INVALID_EVENT_DELETE = "Invalid Request: Cannot delete event as there are active reservations.";
+    public static final String EVENT_INACTIVE = "Событие неактивно. Невозможно создать бронирование.";
+    public static final String EVENT_FULL = "Все места заняты. Невозможно создать бронирование.";
+    public static final String ALREADY_REGISTERED = "Вы уже зарегистрированы на это событие. Один аккаунт может зарегистрироваться только один раз на каждое событие.";
     public static final String INVALID_EVENT_UPDATE = "Invalid Event Update: Cannot update user specified event as the new dates conflict with an active reservation.";
+    public static final String INVALID_FEEDBACK_PAGE_SIZE = "Invalid page size: Feedback page size must be between 1 and " + AppConstants.MAX_FEEDBACK_PAGE_SIZE + ".";
+    public static final String MALFORMED_IMPORT = "Malformed JSON: The rest of the import was not read.";
+    public static final String EMPTY_IMPORT_RECORD = "Empty record: Expected an event object but got null.";
+    public static final String IMPORT_BATCH_FAILED = "Batch insert failed, none of its rows were imported: ";
+    public static final String INVALID_SEARCH_QUERY = "Search query 'q' must not be empty.";
+    public static final String LOGIN_REQUIRED = "Необходимо войти в систему";
+    public static final String PASSWORD_HASHING_BUSY = "Слишком много попыток входа, попробуйте позже";
+    public static final String LOGIN_THROTTLED = "Слишком много попыток входа с этим ID студента или адреса, попробуйте позже";
+    public static final String FEEDBACK_QUEUE_FULL = "Слишком много сообщений обратной связи, попробуйте позже.";
 
     // Page number and size validation
     public static final String PAGE_NUMBER_CANNOT_BE_LESS_THAN_ZERO = "Page number cannot be less than zero.";
     public static final String SIZE_NUMBER_CANNOT_BE_LESS_THAN_ZERO = "Size number cannot be less than zero.";
     public static final String MAX_PAGE_SIZE_EXCEPTION = "Page size must not be greater than: " + AppConstants.MAX_PAGE_SIZE;
+    public static final String INVALID_SORT_PARAM = "Invalid sortBy: Must be one of the following " + AppConstants.CURSOR_SORTING_PARAMS + ".";
+    public static final String INVALID_CURSOR = "Invalid cursor: The cursor is malformed or was issued for a different sortBy.";
 
 }
@@ -1,19 +1,27 @@
 package dev.yerassyl.aliyev.controller;
 
 import dev.yerassyl.aliyev.constants.AppConstants;
+import dev.yerassyl.aliyev.dto.EventCursorPage;
+import dev.yerassyl.aliyev.dto.EventImportResult;
+import dev.yerassyl.aliyev.dto.EventView;
 import dev.yerassyl.aliyev.dto.IdEntity;
 import dev.yerassyl.aliyev.dto.SuccessEntity;
 import dev.yerassyl.aliyev.entity.Event;
+import dev.yerassyl.aliyev.service.EventImportService;
 import dev.yerassyl.aliyev.service.EventService;
 import dev.yerassyl.aliyev.validator.EventValidator;
 import dev.yerassyl.aliyev.validator.PageNumberAndSizeValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -25,6 +33,7 @@ import java.util.List;
 @RequestMapping("/api/v1")
 public class EventController {
     private final EventService eventService;
+    private final EventImportService eventImportService;
 
     /**
      * End point to get all events in the database
@@ -32,9 +41,51 @@ public class EventController {
      * @return list of events
      */
     @GetMapping(value = "/events", produces = "application/json")
-    public ResponseEntity<List<Event>> getEventList(){
-        log.info("Get all: {} events from database", eventService.getAllEvents().size());
-        return ResponseEntity.ok(eventService.getAllEvents());
+    public ResponseEntity<List<EventView>> getEventList(){
+        List<EventView> events = eventService.getAllEvents();
+        log.info("Get all: {} events", events.size());
+        return ResponseEntity.ok(events);
+    }
+
+    /**
+     * End point to stream all events as newline delimited JSON, chosen with "Accept: application/x-ndjson".
+     * The first lines reach the client before the whole table has been read.
+     *
+     * @return stream of Events, one per line
+     */
+    @GetMapping(value = "/events", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEventList(){
+        log.info("Stream all events from database");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(eventService::writeAllEvents);
+    }
+
+    /**
+     * End point to import many events at once, given as a JSON array or as newline delimited JSON.
+     * Every record is checked like in POST /event; invalid rows are reported and the others are imported.
+     *
+     * @param body events to import
+     * @return counts and per-row errors
+     */
+    @PostMapping(value = "/events/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = "application/json")
+    public EventImportResult importEvents(InputStream body) throws IOException {
+        log.info("Bulk import of events");
+        return eventImportService.importEvents(body);
+    }
+
+    /**
+     * End point to export all events as newline delimited JSON, in the format accepted by the bulk import
+     *
+     * @return stream of Events, one per line
+     */
+    @GetMapping(value = "/events/bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEvents() {
+        log.info("Bulk export of events");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(eventService::writeAllEvents);
     }
 
     /**
@@ -46,19 +97,43 @@ public class EventController {
      * @return
      */
     @GetMapping(value = "/eventPagedList", produces = "application/json")
-    public ResponseEntity<List<Event>> getPagedEventList(
+    public ResponseEntity<List<EventView>> getPagedEventList(
             @RequestParam(name = "pageNumber", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer pageNumber,
             @RequestParam(name = "pageSize", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer pageSize,
             @RequestParam(name = "sortBy", required = false, defaultValue = AppConstants.DEFAULT_SORTING_PARAM) String sortBy) {
 
         PageNumberAndSizeValidator.validatePageNumberAndSize(pageNumber, pageSize);
-        List<Event> eventPagedList = eventService.getEventPagedList(pageNumber, pageSize, sortBy);
+        List<EventView> eventPagedList = eventService.getEventPagedList(pageNumber, pageSize, sortBy);
 
         log.info("Return Event paged list with pageNumber: {}, pageSize: {} and sortBy: {}.", pageNumber, pageSize, sortBy);
 
         return new ResponseEntity<>(eventPagedList, HttpStatus.OK);
     }
 
+    /**
+     * End point to get Events with keyset (cursor) pagination.
+     * Pass the 'nextCursor' of a page as 'cursor' to read the following page.
+     *
+     * @param cursor
+     * @param pageSize
+     * @param sortBy
+     * @return
+     */
+    @GetMapping(value = "/events/cursor", produces = "application/json")
+    public ResponseEntity<EventCursorPage> getCursorEventList(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "pageSize", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer pageSize,
+            @RequestParam(name = "sortBy", required = false, defaultValue = AppConstants.DEFAULT_SORTING_PARAM) String sortBy) {
+
+        PageNumberAndSizeValidator.validatePageNumberAndSize(0, pageSize);
+        PageNumberAndSizeValidator.validateCursorSortBy(sortBy);
+        EventCursorPage eventCursorPage = eventService.getEventCursorPage(cursor, pageSize, sortBy);
+
+        log.info("Return Event cursor page with pageSize: {}, sortBy: {} and hasNext: {}.", pageSize, sortBy, eventCursorPage.isHasNext());
+
+        return new ResponseEntity<>(eventCursorPage, HttpStatus.OK);
+    }
+
     /**
      * End point to get user specified Event
      *
@@ -66,7 +141,7 @@ public class EventController {
      * @return
      */
     @GetMapping(value = "/event/{id}", produces = "application/json")
-    public Event getEvent(@PathVariable Integer id) {
+    public EventView getEvent(@PathVariable Integer id) {
         EventValidator.validateId(id);
         log.info("Get event by id = {}", id);
         return eventService.getEvent(id);
@@ -80,7 +155,7 @@ public class EventController {
      * @return list of events
      */
     @GetMapping(value = "/events/availabilitySearch", produces = "application/json")
-    public List<Event> getEvent(@RequestParam("dateFrom") String from, @RequestParam("dateTo") String to){
+    public List<EventView> getEvent(@RequestParam("dateFrom") String from, @RequestParam("dateTo") String to){
         EventValidator.validateDates(from, to);
         log.info("Get all events available between dates from: {} to: {}", from, to);
         return eventService.getAvailable(from, to);
@@ -1,16 +1,26 @@
 package dev.yerassyl.aliyev.controller;
 
+import dev.yerassyl.aliyev.constants.AppConstants;
+import dev.yerassyl.aliyev.constants.ErrorMessages;
 import dev.yerassyl.aliyev.dto.FeedbackRequest;
+import dev.yerassyl.aliyev.dto.FeedbackSearchPage;
 import dev.yerassyl.aliyev.dto.SuccessEntity;
+import dev.yerassyl.aliyev.feedback.FeedbackCursor;
+import dev.yerassyl.aliyev.exception.InvalidRequestException;
+import dev.yerassyl.aliyev.feedback.FeedbackQuery;
 import dev.yerassyl.aliyev.service.FeedbackService;
+import dev.yerassyl.aliyev.validator.BaseValidator;
+import dev.yerassyl.aliyev.validator.PageNumberAndSizeValidator;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
-import java.util.Map;
+import java.io.IOException;
+import java.time.LocalDate;
 
 /**
  * Контроллер для обработки обратной связи
@@ -42,17 +52,62 @@ public class FeedbackController {
     }
     
     /**
-     * Endpoint для получения всех сообщений обратной связи
+     * Endpoint для постраничного получения обратной связи (от новых к старым).
+     * Следующая страница запрашивается по nextCursor из предыдущего ответа.
      * 
-     * @return список всех сообщений обратной связи
+     * @param dateFrom начальная дата (yyyy-MM-dd), включительно
+     * @param dateTo конечная дата (yyyy-MM-dd), включительно
+     * @param email точное совпадение email без учета регистра
+     * @param subject подстрока темы без учета регистра
+     * @param pageSize размер страницы
+     * @param cursor курсор, полученный в nextCursor
+     * @return {"content": [...], "nextCursor": "...", "hasNext": true}
      */
     @GetMapping(value = "/feedback", produces = "application/json")
-    public ResponseEntity<List<Map<String, Object>>> getAllFeedbacks() {
-        log.info("Запрос на получение всех сообщений обратной связи");
-        
-        List<Map<String, Object>> feedbacks = feedbackService.getAllFeedbacks();
-        
-        return ResponseEntity.ok(feedbacks);
+    public ResponseEntity<StreamingResponseBody> getFeedbackPage(
+            @RequestParam(name = "dateFrom", required = false) String dateFrom,
+            @RequestParam(name = "dateTo", required = false) String dateTo,
+            @RequestParam(name = "email", required = false) String email,
+            @RequestParam(name = "subject", required = false) String subject,
+            @RequestParam(name = "pageSize", required = false, defaultValue = AppConstants.DEFAULT_FEEDBACK_PAGE_SIZE) Integer pageSize,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        PageNumberAndSizeValidator.validateFeedbackPageSize(pageSize);
+        FeedbackQuery query = new FeedbackQuery(isoDay(dateFrom), isoDay(dateTo), email, subject,
+                pageSize, FeedbackCursor.decode(cursor));
+        log.info("Запрос страницы обратной связи: {}", query);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> feedbackService.writeFeedbackPage(query, out));
+    }
+
+    /**
+     * Endpoint для полнотекстового поиска по теме и тексту обратной связи
+     * 
+     * @param q слова для поиска (кириллица и латиница), находятся сообщения со всеми словами
+     * @param pageNumber номер страницы
+     * @param pageSize размер страницы
+     * @return найденные сообщения, лучшие совпадения первыми
+     */
+    @GetMapping(value = "/feedback/search", produces = "application/json")
+    public ResponseEntity<FeedbackSearchPage> searchFeedback(
+            @RequestParam(name = "q", required = false) String q,
+            @RequestParam(name = "pageNumber", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer pageNumber,
+            @RequestParam(name = "pageSize", required = false, defaultValue = AppConstants.DEFAULT_FEEDBACK_PAGE_SIZE) Integer pageSize) throws IOException {
+        if (q == null || q.isBlank()) {
+            throw new InvalidRequestException(ErrorMessages.INVALID_SEARCH_QUERY);
+        }
+        if (pageNumber < 0) {
+            throw new InvalidRequestException(ErrorMessages.PAGE_NUMBER_CANNOT_BE_LESS_THAN_ZERO);
+        }
+        PageNumberAndSizeValidator.validateFeedbackPageSize(pageSize);
+        log.info("Поиск обратной связи: '{}', страница {}", q, pageNumber);
+
+        return ResponseEntity.ok(feedbackService.searchFeedback(q, pageNumber, pageSize));
     }
-}
 
+    // Имена файлов сравниваются как строки, поэтому дата приводится к виду yyyy-MM-dd
+    private static String isoDay(String date) {
+        return date == null || date.isBlank() ? null : LocalDate.ofEpochDay(BaseValidator.parseDate(date)).toString();
+    }
+}
@@ -1,14 +1,18 @@
 package dev.yerassyl.aliyev.controller;
 
 import dev.yerassyl.aliyev.dto.IdEntity;
+import dev.yerassyl.aliyev.dto.ReservationView;
 import dev.yerassyl.aliyev.dto.SuccessEntity;
 import dev.yerassyl.aliyev.entity.Reservation;
+import dev.yerassyl.aliyev.security.CurrentUser;
 import dev.yerassyl.aliyev.service.ReservationService;
 import dev.yerassyl.aliyev.validator.ReservationValidator;
-import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -28,19 +32,32 @@ public class ReservationController {
      * @return list of Reservations
      */
     @GetMapping(value = "/reservations", produces = "application/json")
-    public List<Reservation> getReservationList(){
+    public List<ReservationView> getReservationList(){
         log.info("Get all reservations...");
         return reservationService.getAllReservations();
     }
+
+    /**
+     * End point to stream all reservations as newline delimited JSON, chosen with "Accept: application/x-ndjson".
+     *
+     * @return stream of Reservations, one per line
+     */
+    @GetMapping(value = "/reservations", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamReservationList(){
+        log.info("Stream all reservations...");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(reservationService::writeAllReservations);
+    }
     //jUnit, integrationtest, mockito, hibernate, lombok, jpa, swagger
     /**
      * End point to get user specified reservation.
      *
      * @param id Integer
-     * @return Reservation object
+     * @return Reservation view
      */
     @GetMapping(value = "/reservation/{id}", produces = "application/json")
-    public Reservation getReservation(@PathVariable Integer id){
+    public ReservationView getReservation(@PathVariable Integer id){
         ReservationValidator.validateId(id);
         log.info("Get a user specified reservation with id = {}", id);
         return reservationService.getReservation(id);
@@ -50,12 +67,11 @@ public class ReservationController {
      * End point to update user specified Reservation
      *
      * @param reservation
-     * @param session
+     * @param userId id of the logged in user, from the login token
      * @return
      */
     @PostMapping(value = "/reservation", produces = "application/json")
-    public IdEntity saveReservation(@RequestBody Reservation reservation, HttpSession session){
-        Integer userId = (Integer) session.getAttribute("userId");
+    public IdEntity saveReservation(@RequestBody Reservation reservation, @CurrentUser(required = false) Integer userId){
         if (userId == null) {
             throw new dev.yerassyl.aliyev.exception.InvalidRequestException("Необходимо войти в систему для создания бронирования");
         }
@@ -4,14 +4,22 @@ import dev.yerassyl.aliyev.dto.LoginRequest;
 import dev.yerassyl.aliyev.dto.RegisterRequest;
 import dev.yerassyl.aliyev.dto.SuccessEntity;
 import dev.yerassyl.aliyev.dto.UserResponse;
+import dev.yerassyl.aliyev.security.CurrentUser;
+import dev.yerassyl.aliyev.security.LoginRateLimiter;
+import dev.yerassyl.aliyev.security.SessionTokenService;
 import dev.yerassyl.aliyev.service.UserService;
-import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+
 @Slf4j
 @RequiredArgsConstructor
 @RestController
@@ -19,48 +27,47 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final SessionTokenService sessionTokenService;
+    private final LoginRateLimiter loginRateLimiter;
+
+    @Value("${app.security.token.cookie-name}")
+    private String cookieName;
+
+    @Value("${app.security.token.cookie-secure}")
+    private boolean cookieSecure;
 
     /**
      * Регистрация нового пользователя
      */
     @PostMapping(value = "/register", produces = "application/json")
-    public ResponseEntity<UserResponse> register(@RequestBody @Valid RegisterRequest request, HttpSession session) {
+    public ResponseEntity<UserResponse> register(@RequestBody @Valid RegisterRequest request) {
         log.info("Register request for studentId: {}", request.getStudentId());
         UserResponse userResponse = userService.register(request);
         
-        // Сохраняем пользователя в сессию
-        session.setAttribute("userId", userResponse.getId());
-        session.setAttribute("user", userResponse);
-        
-        log.info("User registered and session created for userId: {}", userResponse.getId());
-        return ResponseEntity.ok(userResponse);
+        log.info("User registered, token issued for userId: {}", userResponse.getId());
+        return withToken(userResponse);
     }
 
     /**
-     * Вход в систему
+     * Вход в систему, частые попытки с одного ID студента или адреса отклоняются с 429
      */
     @PostMapping(value = "/login", produces = "application/json")
-    public ResponseEntity<UserResponse> login(@RequestBody @Valid LoginRequest request, HttpSession session) {
+    public ResponseEntity<UserResponse> login(@RequestBody @Valid LoginRequest request, HttpServletRequest httpRequest) {
         log.info("Login request for studentId: {}", request.getStudentId());
+        loginRateLimiter.acquire(request.getStudentId(), httpRequest.getRemoteAddr());
         UserResponse userResponse = userService.login(request);
         
-        // Сохраняем пользователя в сессию
-        session.setAttribute("userId", userResponse.getId());
-        session.setAttribute("user", userResponse);
-        
-        log.info("User logged in and session created for userId: {}", userResponse.getId());
-        return ResponseEntity.ok(userResponse);
+        log.info("User logged in, token issued for userId: {}", userResponse.getId());
+        return withToken(userResponse);
     }
 
     /**
-     * Получить текущего пользователя из сессии
+     * Получить текущего пользователя по токену
      */
     @GetMapping(value = "/user/current", produces = "application/json")
-    public ResponseEntity<UserResponse> getCurrentUser(HttpSession session) {
-        Integer userId = (Integer) session.getAttribute("userId");
-        
+    public ResponseEntity<UserResponse> getCurrentUser(@CurrentUser(required = false) Integer userId) {
         if (userId == null) {
-            log.warn("No user in session");
+            log.warn("No valid login token");
             return ResponseEntity.ok(null);
         }
         
@@ -69,16 +76,35 @@ public class UserController {
     }
 
     /**
-     * Выход из системы
+     * Выход из системы: удаляет cookie с токеном
      */
     @PostMapping(value = "/logout", produces = "application/json")
-    public ResponseEntity<SuccessEntity> logout(HttpSession session) {
+    public ResponseEntity<SuccessEntity> logout() {
         log.info("Logout request");
-        session.invalidate();
         
         SuccessEntity successEntity = new SuccessEntity();
         successEntity.setSuccess(true);
-        return ResponseEntity.ok(successEntity);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, cookie("", Duration.ZERO).toString())
+                .body(successEntity);
+    }
+
+    // Вместо записи в HttpSession пользователь получает подписанный токен, любая реплика может его проверить
+    private ResponseEntity<UserResponse> withToken(UserResponse userResponse) {
+        String token = sessionTokenService.issue(userResponse.getId());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, cookie(token, sessionTokenService.ttl()).toString())
+                .header(SessionTokenService.TOKEN_HEADER, token)
+                .body(userResponse);
     }
-}
 
+    private ResponseCookie cookie(String value, Duration maxAge) {
+        return ResponseCookie.from(cookieName, value)
+                .httpOnly(true)
+                .secure(cookieSecure)
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(maxAge)
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package dev.yerassyl.aliyev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of events read with keyset pagination
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventCursorPage {
+    private List<EventView> content;
+    private String nextCursor; // Opaque token for the next page, null on the last page
+    private boolean hasNext;
+}
@@ -0,0 +1,28 @@
+package dev.yerassyl.aliyev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk event import
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventImportResult {
+    private long received; // Records read from the request
+    private long imported;
+    private long rejected;
+    private List<RowError> errors; // At most 'app.event.import.max-errors' of the rejected rows
+
+    /**
+     * @param row 1-based position of the record in the request
+     */
+    public record RowError(long row, String message) {
+    }
+}
@@ -0,0 +1,21 @@
+package dev.yerassyl.aliyev.dto;
+
+import dev.yerassyl.aliyev.entity.ValidTypesOfHotelsEnum;
+
+/**
+ * Read-only projection of an event with the columns the API exposes.
+ * Selected with a constructor expression (EventRepository.EVENT_VIEW), so no entity is hydrated or dirty checked
+ * and the instances can be cached and shared between threads.
+ */
+public record EventView(Integer id, String name, ValidTypesOfHotelsEnum type, String description,
+                        String availableFrom, String availableTo, boolean status, Integer capacity,
+                        Integer seatsTaken) {
+
+    public EventView withSeats(Integer capacity, Integer seatsTaken) {
+        return new EventView(id, name, type, description, availableFrom, availableTo, status, capacity, seatsTaken);
+    }
+
+    public boolean hasFreeSeats() {
+        return seatsTaken < capacity;
+    }
+}
@@ -0,0 +1,24 @@
+package dev.yerassyl.aliyev.dto;
+
+import dev.yerassyl.aliyev.feedback.FeedbackEntry;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of feedback search hits, best match first
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackSearchPage {
+    private List<FeedbackEntry> content;
+    private int total; // Number of matching entries over all pages
+    private int pageNumber;
+    private int pageSize;
+    private boolean hasNext;
+}
@@ -0,0 +1,9 @@
+package dev.yerassyl.aliyev.dto;
+
+/**
+ * Read-only projection of a reservation, selected with ReservationRepository.RESERVATION_VIEW
+ *
+ * @param checkIn studentId of the user who booked
+ */
+public record ReservationView(Integer id, Integer eventId, String checkIn, boolean status) {
+}
@@ -0,0 +1,18 @@
+package dev.yerassyl.aliyev.dto;
+
+/**
+ * Projection of a user row needed to check a login, cached by studentId so repeated logins skip the database
+ *
+ * @param password stored password hash
+ */
+public record UserCredentials(Integer id, String studentId, String name, String surname, String password) {
+
+    public UserResponse toResponse() {
+        return UserResponse.builder()
+                .id(id)
+                .studentId(studentId)
+                .name(name)
+                .surname(surname)
+                .build();
+    }
+}
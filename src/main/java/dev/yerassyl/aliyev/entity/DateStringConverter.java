@@ -0,0 +1,37 @@
+package dev.yerassyl.aliyev.entity;
+
+import dev.yerassyl.aliyev.validator.BaseValidator;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.time.LocalDate;
+
+/**
+ * Stores 'yyyy-MM-dd' strings of the API as DATE columns, so the database can compare and index them as dates
+ */
+@Converter
+public class DateStringConverter implements AttributeConverter<String, LocalDate> {
+
+    @Override
+    public LocalDate convertToDatabaseColumn(String date) {
+        if (date == null || date.isBlank()) {
+            return null;
+        }
+        return parse(date.trim());
+    }
+
+    /**
+     * Parses a date in the format accepted by the API
+     *
+     * @param date
+     * @return
+     */
+    public static LocalDate parse(String date) {
+        return LocalDate.ofEpochDay(BaseValidator.parseDate(date));
+    }
+
+    @Override
+    public String convertToEntityAttribute(LocalDate date) {
+        return date == null ? null : date.toString();
+    }
+}
@@ -1,9 +1,13 @@
 package dev.yerassyl.aliyev.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import dev.yerassyl.aliyev.constants.AppConstants;
 import lombok.*;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -18,7 +22,10 @@ import jakarta.validation.constraints.Size;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "event")
+@Table(name = "event", indexes = {
+        @Index(name = "idx_event_name_id", columnList = "name, id"), // keyset pagination by name
+        @Index(name = "idx_event_available_from_to", columnList = "available_from, available_to") // availability search
+})
 public class Event extends AuditableEntity {
 
     @NotBlank(message = "Event name is mandatory")
@@ -34,13 +41,31 @@ public class Event extends AuditableEntity {
     @Column
     private String description;
 
+    @Convert(converter = DateStringConverter.class)
     @Column(name = "available_from")
     private String availableFrom;
 
+    @Convert(converter = DateStringConverter.class)
     @Column(name = "available_to")
     private String availableTo;
 
     @Column(nullable = false)
     private boolean status;
 
+    /**
+     * Maximum number of reservations that can be made for this event
+     */
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "integer default " + AppConstants.DEFAULT_EVENT_CAPACITY)
+    private Integer capacity = AppConstants.DEFAULT_EVENT_CAPACITY;
+
+    /**
+     * Number of reservations currently made for this event, kept in sync on booking and cancellation.
+     * Only changed through the conditional updates in EventRepository, never by saving the entity.
+     */
+    @Builder.Default
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "seats_taken", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private Integer seatsTaken = 0;
+
 }
@@ -5,6 +5,7 @@ import lombok.*;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 
 @Getter
@@ -13,7 +14,9 @@ import jakarta.persistence.Table;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "reservation")
+@Table(name = "reservation", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_reservation_event_check_in", columnNames = {"event_id", "check_in"})
+})
 public class Reservation extends AuditableEntity {
 
     @Column(name = "event_id", nullable = false)
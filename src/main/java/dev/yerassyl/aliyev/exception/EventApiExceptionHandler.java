@@ -1,6 +1,7 @@
 package dev.yerassyl.aliyev.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -23,6 +24,19 @@ public class EventApiExceptionHandler {
         return handleBadRequest(e);
     }
 
+    /**
+     * Exception handler for requests refused under load.
+     *
+     * @param e TooManyRequestsException
+     */
+    @ExceptionHandler(value = TooManyRequestsException.class)
+    public ResponseEntity<ApiErrorMessage> handleTooManyRequests(TooManyRequestsException e) {
+        log.warn("{}: {}", HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(), e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ApiErrorMessage(HttpStatus.TOO_MANY_REQUESTS, e.getMessage()));
+    }
+
     /**
      * Exception handler for all other exceptions.
      *
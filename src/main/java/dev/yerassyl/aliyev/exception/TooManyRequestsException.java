@@ -0,0 +1,30 @@
+package dev.yerassyl.aliyev.exception;
+
+import java.io.Serial;
+
+/**
+ * Request refused because the server is at capacity, answered with 429
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -4094432270379553467L;
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message) {
+        this(message, 1);
+    }
+
+    /**
+     * @param retryAfterSeconds sent back in the Retry-After header
+     */
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,150 @@
+package dev.yerassyl.aliyev.feedback;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rolls the NDJSON files of finished days into FeedbackSegment files in the background.
+ * A day is compacted once it is 'compact-after-days' old, so late entries of the previous day
+ * still land in its NDJSON file. Runs at startup and then every 'compact-interval-minutes'.
+ */
+@Slf4j
+@Component
+public class FeedbackCompactor {
+
+    private final FeedbackLog feedbackLog;
+    private final int compactAfterDays;
+    private final ScheduledExecutorService scheduler;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    public FeedbackCompactor(FeedbackLog feedbackLog,
+                             @Value("${app.feedback.compact-after-days}") int compactAfterDays,
+                             @Value("${app.feedback.compact-interval-minutes}") long compactIntervalMinutes) {
+        this.feedbackLog = feedbackLog;
+        this.compactAfterDays = Math.max(1, compactAfterDays);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "feedback-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (compactIntervalMinutes > 0) {
+            scheduler.scheduleWithFixedDelay(this::compactQuietly, 0, compactIntervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            compactAll();
+        } catch (Exception e) {
+            log.error("Feedback compaction failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Compacts every day old enough that still has an NDJSON file
+     *
+     * @return number of days compacted
+     */
+    public synchronized int compactAll() throws IOException {
+        String newest = LocalDate.now().minusDays(compactAfterDays).toString();
+        int compacted = 0;
+        // A day with an NDJSON file is either not compacted yet or has late entries to merge into its segment
+        for (Map.Entry<String, FeedbackLog.DayFiles> day : feedbackLog.dayFiles().entrySet()) {
+            if (day.getKey().compareTo(newest) <= 0 && day.getValue().file() != null && compact(day.getKey())) {
+                compacted++;
+            }
+        }
+        return compacted;
+    }
+
+    private boolean compact(String day) throws IOException {
+        Path file = feedbackLog.fileOf(day);
+        Path existing = feedbackLog.segmentOf(day);
+        Path temporary = file.resolveSibling(file.getFileName() + FeedbackLog.SEGMENT_SUFFIX + ".tmp");
+
+        List<FeedbackEntry> entries = new ArrayList<>();
+        long[] offsets = new long[FeedbackFileIndex.LINES_PER_BLOCK];
+        long base = 0;
+        if (Files.exists(existing)) {
+            // Late entries of an already compacted day: keep the segment's records and offsets, append after them
+            FeedbackSegment segment = FeedbackSegment.open(existing);
+            FeedbackEntry[] block = new FeedbackEntry[FeedbackFileIndex.LINES_PER_BLOCK];
+            long[] blockOffsets = new long[FeedbackFileIndex.LINES_PER_BLOCK];
+            offsets = new long[segment.count() + FeedbackFileIndex.LINES_PER_BLOCK];
+            for (int b = 0; b < segment.blocks(); b++) {
+                int records = segment.readBlock(b, block, blockOffsets);
+                System.arraycopy(blockOffsets, 0, offsets, entries.size(), records);
+                entries.addAll(Arrays.asList(block).subList(0, records));
+            }
+            base = segment.sourceLength();
+        }
+
+        long size;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            size = channel.size();
+            // The day is over, a torn tail left by a crash will never be completed and is dropped
+            ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int lineStart = 0;
+            for (int i = 0; i < size; i++) {
+                if (bytes.get(i) != '\n') {
+                    continue;
+                }
+                if (i > lineStart) {
+                    try {
+                        FeedbackEntry entry = objectMapper.readValue(
+                                new ByteBufferBackedInputStream(bytes.slice(lineStart, i - lineStart)), FeedbackEntry.class);
+                        if (entries.size() == offsets.length) {
+                            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                        }
+                        offsets[entries.size()] = base + lineStart;
+                        entries.add(entry);
+                    } catch (IOException e) {
+                        log.warn("Dropping unreadable feedback line in {} at {}: {}", file.getFileName(), lineStart, e.getMessage());
+                    }
+                }
+                lineStart = i + 1;
+            }
+            if (lineStart != size) {
+                log.warn("Dropping incomplete last line of {}", file.getFileName());
+            }
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+
+        FeedbackSegment.write(temporary, entries, offsets, base + size);
+        if (!feedbackLog.replaceWithSegment(day, temporary, size)) {
+            log.info("Feedback file {} changed while compacting, retrying later", file.getFileName());
+            return false;
+        }
+        log.info("Compacted {} feedback entries of {} from {} to {} bytes", entries.size(), day, size,
+                Files.size(existing));
+        return true;
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
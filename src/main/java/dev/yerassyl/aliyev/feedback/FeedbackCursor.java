@@ -0,0 +1,52 @@
+package dev.yerassyl.aliyev.feedback;
+
+import dev.yerassyl.aliyev.constants.ErrorMessages;
+import dev.yerassyl.aliyev.exception.InvalidRequestException;
+import dev.yerassyl.aliyev.utils.EpochDays;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position in the feedback log, a page continues with the entries stored before it
+ *
+ * @param day    daily file of the last returned entry
+ * @param offset byte offset of the last returned entry in that file
+ */
+public record FeedbackCursor(String day, long offset) {
+
+    private static final char SEPARATOR = '@';
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((day + SEPARATOR + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded position, null when no cursor is given
+     */
+    public static FeedbackCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String token = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = token.indexOf(SEPARATOR);
+            String day = token.substring(0, Math.max(separator, 0));
+            long offset = Long.parseLong(token.substring(separator + 1));
+            // Days come from file names, '2024-1-5' would never match one
+            if (separator < 0 || !isCanonical(day) || offset < 0) {
+                throw new InvalidRequestException(ErrorMessages.INVALID_CURSOR);
+            }
+            return new FeedbackCursor(day, offset);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(ErrorMessages.INVALID_CURSOR);
+        }
+    }
+
+    private static boolean isCanonical(String day) {
+        int epochDay = EpochDays.parse(day);
+        return epochDay != EpochDays.INVALID && LocalDate.ofEpochDay(epochDay).toString().equals(day);
+    }
+}
@@ -0,0 +1,16 @@
+package dev.yerassyl.aliyev.feedback;
+
+/**
+ * One feedback message as stored in the log, one JSON object per line
+ *
+ * @param timestamp 'yyyy-MM-dd HH:mm:ss', also decides the daily file
+ */
+public record FeedbackEntry(String timestamp, String name, String email, String subject, String message) {
+
+    /**
+     * Day part of the timestamp, 'yyyy-MM-dd'
+     */
+    public String day() {
+        return timestamp.substring(0, 10);
+    }
+}
@@ -0,0 +1,106 @@
+package dev.yerassyl.aliyev.feedback;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Sparse offset index of one daily NDJSON file: the byte offset of every LINES_PER_BLOCK-th line.
+ * A reader can seek straight to a block and parse only its lines, so pages are read backwards from
+ * any position without scanning the file from the start. Immutable, extend returns a new index
+ * covering lines appended since.
+ */
+final class FeedbackFileIndex {
+
+    static final int LINES_PER_BLOCK = 64;
+    static final FeedbackFileIndex EMPTY = new FeedbackFileIndex(new long[0], 0, 0);
+
+    private static final int SCAN_BUFFER = 64 * 1024;
+
+    private final long[] blockStarts;
+    private final int lines;
+    // End of the last complete line, a line still being written is not indexed yet
+    private final long length;
+
+    private FeedbackFileIndex(long[] blockStarts, int lines, long length) {
+        this.blockStarts = blockStarts;
+        this.lines = lines;
+        this.length = length;
+    }
+
+    /**
+     * Index of the file up to 'size', reusing this index when the file only grew
+     */
+    FeedbackFileIndex extend(FileChannel channel, long size) throws IOException {
+        if (size == length) {
+            return this;
+        }
+        if (size < length) {
+            // Replaced by a shorter file, index it again
+            return EMPTY.extend(channel, size);
+        }
+        long[] starts = Arrays.copyOf(blockStarts, Math.max(4, blockStarts.length + 1));
+        int blockCount = blocks();
+        int lineCount = lines;
+        long lineStart = length;
+        long completeEnd = length;
+
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER);
+        long position = length;
+        while (position < size) {
+            buffer.clear();
+            buffer.limit((int) Math.min(SCAN_BUFFER, size - position));
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    long lineEnd = position + i + 1;
+                    if (lineEnd - lineStart > 1) {
+                        if (lineCount % LINES_PER_BLOCK == 0) {
+                            if (blockCount == starts.length) {
+                                starts = Arrays.copyOf(starts, starts.length * 2);
+                            }
+                            starts[blockCount++] = lineStart;
+                        }
+                        lineCount++;
+                    }
+                    lineStart = lineEnd;
+                    completeEnd = lineEnd;
+                }
+            }
+            position += read;
+        }
+        return new FeedbackFileIndex(Arrays.copyOf(starts, blockCount), lineCount, completeEnd);
+    }
+
+    int blocks() {
+        return (lines + LINES_PER_BLOCK - 1) / LINES_PER_BLOCK;
+    }
+
+    long blockStart(int block) {
+        return blockStarts[block];
+    }
+
+    long blockEnd(int block) {
+        return block + 1 < blocks() ? blockStarts[block + 1] : length;
+    }
+
+    /**
+     * Last block that starts before the offset, -1 if none
+     */
+    int blockBefore(long offset) {
+        int position = Arrays.binarySearch(blockStarts, 0, blocks(), offset);
+        return position >= 0 ? position - 1 : -position - 2;
+    }
+
+    int lines() {
+        return lines;
+    }
+
+    long length() {
+        return length;
+    }
+}
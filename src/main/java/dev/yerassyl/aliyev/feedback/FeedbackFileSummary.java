@@ -0,0 +1,65 @@
+package dev.yerassyl.aliyev.feedback;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * What the reader knows about one daily file: its offset index and, for a sealed day, a read-only mapping
+ * of the indexed bytes. Valid while the file keeps the size and modification time it was built from.
+ */
+final class FeedbackFileSummary {
+
+    private final long size;
+    private final FileTime modified;
+    private final FeedbackFileIndex index;
+    // Null for the live day, its blocks are read through the channel instead of being mapped again on every write
+    private final MappedByteBuffer mapping;
+
+    private FeedbackFileSummary(long size, FileTime modified, FeedbackFileIndex index, MappedByteBuffer mapping) {
+        this.size = size;
+        this.modified = modified;
+        this.index = index;
+        this.mapping = mapping;
+    }
+
+    /**
+     * Summary of the file as described by its attributes, extending the previous index when the file only grew
+     */
+    static FeedbackFileSummary build(Path file, BasicFileAttributes attributes, FeedbackFileSummary previous,
+                                     boolean sealed) throws IOException {
+        FeedbackFileIndex base = previous != null ? previous.index : FeedbackFileIndex.EMPTY;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            FeedbackFileIndex index = base.extend(channel, attributes.size());
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapping = sealed && index.length() <= Integer.MAX_VALUE
+                    ? channel.map(FileChannel.MapMode.READ_ONLY, 0, index.length())
+                    : null;
+            return new FeedbackFileSummary(attributes.size(), attributes.lastModifiedTime(), index, mapping);
+        }
+    }
+
+    boolean isCurrent(BasicFileAttributes attributes) {
+        return size == attributes.size() && modified.equals(attributes.lastModifiedTime());
+    }
+
+    FeedbackFileIndex index() {
+        return index;
+    }
+
+    boolean isMapped() {
+        return mapping != null;
+    }
+
+    /**
+     * Bytes of a block without copying, only for a mapped summary
+     */
+    ByteBuffer slice(long start, long end) {
+        return mapping.slice((int) start, (int) (end - start));
+    }
+}
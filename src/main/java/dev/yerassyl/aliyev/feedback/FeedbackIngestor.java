@@ -0,0 +1,182 @@
+package dev.yerassyl.aliyev.feedback;
+
+import dev.yerassyl.aliyev.constants.ErrorMessages;
+import dev.yerassyl.aliyev.exception.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Takes feedback off the request threads: submissions go into a bounded ring buffer (ArrayBlockingQueue)
+ * that a single writer thread drains into FeedbackLog, one write and fsync per batch of up to
+ * 'batch-size' entries or 'batch-delay-ms' after the first entry of the batch, whichever comes first.
+ * Written entries are then added to FeedbackSearchIndex, so search never returns an entry that was not stored.
+ * <p>
+ * When the buffer is full, submit waits up to 'offer-timeout-ms' (0 = not at all) and then rejects with 429.
+ * On shutdown new submissions are rejected and everything already accepted is written before the log closes.
+ */
+@Slf4j
+@Component
+public class FeedbackIngestor {
+
+    private final FeedbackLog feedbackLog;
+    private final FeedbackSearchIndex searchIndex;
+    private final BlockingQueue<FeedbackEntry> queue;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long batchDelayNanos;
+    private final long offerTimeoutMillis;
+    private final long shutdownTimeoutMillis;
+    private final Thread writer;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile boolean running = true;
+    private volatile boolean abandoned;
+
+    public FeedbackIngestor(FeedbackLog feedbackLog,
+                            FeedbackSearchIndex searchIndex,
+                            @Value("${app.feedback.queue-capacity}") int queueCapacity,
+                            @Value("${app.feedback.batch-size}") int batchSize,
+                            @Value("${app.feedback.batch-delay-ms}") long batchDelayMillis,
+                            @Value("${app.feedback.offer-timeout-ms}") long offerTimeoutMillis,
+                            @Value("${app.feedback.shutdown-timeout-ms}") long shutdownTimeoutMillis) {
+        this.feedbackLog = feedbackLog;
+        this.searchIndex = searchIndex;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.batchDelayNanos = TimeUnit.MILLISECONDS.toNanos(batchDelayMillis);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.writer = new Thread(this::drain, "feedback-writer");
+        this.writer.start();
+    }
+
+    /**
+     * Queues the entry for writing
+     *
+     * @throws TooManyRequestsException when the buffer stays full or the application is shutting down
+     */
+    public void submit(FeedbackEntry entry) {
+        boolean accepted;
+        try {
+            accepted = running && queue.offer(entry, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            rejected.incrementAndGet();
+            throw new TooManyRequestsException(ErrorMessages.FEEDBACK_QUEUE_FULL);
+        }
+    }
+
+    private void drain() {
+        List<FeedbackEntry> batch = new ArrayList<>(batchSize);
+        while ((running || !queue.isEmpty()) && !abandoned) {
+            try {
+                FeedbackEntry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+            } catch (InterruptedException e) {
+                // Not interrupted by close(), but stop waiting anyway: what is left is drained below
+                running = false;
+            }
+            queue.drainTo(batch, batchSize - batch.size());
+            write(batch);
+        }
+        if (abandoned) {
+            // Accepted (the client got 200) but never written
+            failed.addAndGet(queue.size());
+            queue.clear();
+        }
+        log.info("Feedback writer stopped: {} written, {} failed, {} rejected", written.get(), failed.get(), rejected.get());
+    }
+
+    // Collects more entries until the batch is full or its delay has passed
+    private void fill(List<FeedbackEntry> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + batchDelayNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long wait = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || wait <= 0) {
+                return;
+            }
+            FeedbackEntry next = queue.poll(wait, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<FeedbackEntry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<FeedbackCursor> positions = feedbackLog.appendAll(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                searchIndex.add(positions.get(i), batch.get(i));
+            }
+            written.addAndGet(batch.size());
+        } catch (IOException e) {
+            failed.addAndGet(batch.size());
+            log.error("Could not write {} feedback entries: {}", batch.size(), e.getMessage(), e);
+        }
+        batch.clear();
+    }
+
+    /**
+     * Entries accepted but not written yet
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    public int capacity() {
+        return queueCapacity;
+    }
+
+    public long written() {
+        return written.get();
+    }
+
+    public long failed() {
+        return failed.get();
+    }
+
+    public long rejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Stops accepting and waits up to 'shutdown-timeout-ms' for the queue to be written. After that the writer
+     * only finishes the batch in flight: an interrupt would close the FileChannel under it and tear the batch.
+     * FeedbackLog is a constructor dependency, so Spring destroys this bean first and the log never closes
+     * under a live writer.
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        writer.join(shutdownTimeoutMillis);
+        if (writer.isAlive()) {
+            log.warn("Feedback writer did not finish in time, {} entries not written", queue.size());
+            abandoned = true;
+            writer.join();
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package dev.yerassyl.aliyev.feedback;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Append-only feedback store: one NDJSON file per day (feedback_yyyy-MM-dd.ndjson) written through a single FileChannel.
+ * <p>
+ * Entries are written in batches (see FeedbackIngestor): one gathering write and, depending on the fsync policy,
+ * one force per batch. A submission therefore costs one append no matter how large the day's file already is.
+ */
+@Slf4j
+@Component
+public class FeedbackLog {
+
+    static final String FILE_PREFIX = "feedback_";
+    static final String FILE_SUFFIX = ".ndjson";
+    static final String LEGACY_SUFFIX = ".json";
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final byte NEW_LINE = '\n';
+
+    private final Path directory;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalMillis;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    // Current day's file, guarded by the instance lock (channelDay is also read by FeedbackReader)
+    private FileChannel channel;
+    private volatile String channelDay;
+    // Position of the next line: offset in the file and, for a compacted day, the segment's sourceLength before it
+    private long channelEnd;
+    private long channelBase;
+    private long lastForce;
+
+    public FeedbackLog(@Value("${app.feedback.dir}") String directory,
+                       @Value("${app.feedback.fsync}") String fsyncPolicy,
+                       @Value("${app.feedback.fsync-interval-ms}") long fsyncIntervalMillis) throws IOException {
+        this.directory = Paths.get(directory);
+        this.fsyncPolicy = FsyncPolicy.valueOf(fsyncPolicy.trim().toUpperCase(Locale.ROOT));
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+        Files.createDirectories(this.directory);
+        migrateLegacyFiles();
+    }
+
+    /**
+     * Appends one entry to the file of its day, returns once it is written (and forced, for FsyncPolicy.ALWAYS)
+     *
+     * @return where the entry is stored
+     */
+    public FeedbackCursor append(FeedbackEntry entry) throws IOException {
+        return appendAll(List.of(entry)).get(0);
+    }
+
+    /**
+     * Appends a batch with one gathering write per day and at most one force, entries keep their order
+     *
+     * @return where each entry is stored, the same positions FeedbackReader reports for them
+     */
+    public synchronized List<FeedbackCursor> appendAll(List<FeedbackEntry> entries) throws IOException {
+        try {
+            return write(entries);
+        } catch (IOException e) {
+            closeChannel();
+            throw e;
+        }
+    }
+
+    private byte[] toLine(FeedbackEntry entry) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(entry);
+        byte[] line = new byte[json.length + 1];
+        System.arraycopy(json, 0, line, 0, json.length);
+        line[json.length] = NEW_LINE;
+        return line;
+    }
+
+    private List<FeedbackCursor> write(List<FeedbackEntry> batch) throws IOException {
+        List<FeedbackCursor> positions = new ArrayList<>(batch.size());
+        int from = 0;
+        while (from < batch.size()) {
+            String day = batch.get(from).day();
+            int to = from;
+            while (to < batch.size() && batch.get(to).day().equals(day)) {
+                to++;
+            }
+            ByteBuffer[] buffers = new ByteBuffer[to - from];
+            for (int i = from; i < to; i++) {
+                buffers[i - from] = ByteBuffer.wrap(toLine(batch.get(i)));
+            }
+            FileChannel target = channelFor(day);
+            long remaining = 0;
+            for (ByteBuffer buffer : buffers) {
+                positions.add(new FeedbackCursor(day, channelBase + channelEnd + remaining));
+                remaining += buffer.remaining();
+            }
+            long written = remaining;
+            while (remaining > 0) {
+                remaining -= target.write(buffers);
+            }
+            channelEnd += written;
+            from = to;
+        }
+        force(false);
+        return positions;
+    }
+
+    private FileChannel channelFor(String day) throws IOException {
+        if (channel != null && day.equals(channelDay)) {
+            return channel;
+        }
+        // Daily rotation: the finished day is forced regardless of the policy
+        force(true);
+        closeChannel();
+
+        Path file = fileOf(day);
+        boolean tornTail = endsWithoutNewLine(file);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        channelDay = day;
+        channelEnd = channel.size();
+        if (tornTail) {
+            // A crash in the middle of a write left half a line, start the next record on a line of its own
+            channel.write(ByteBuffer.wrap(new byte[]{NEW_LINE}));
+            channelEnd++;
+        }
+        Path segment = segmentOf(day);
+        channelBase = Files.exists(segment) ? FeedbackSegment.open(segment).sourceLength() : 0;
+        log.debug("Feedback log opened: {}", file);
+        return channel;
+    }
+
+    private void force(boolean always) throws IOException {
+        if (channel == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        boolean due = switch (fsyncPolicy) {
+            case ALWAYS -> true;
+            case INTERVAL -> now - lastForce >= fsyncIntervalMillis;
+            case NEVER -> false;
+        };
+        if (due || always) {
+            channel.force(false);
+            lastForce = now;
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Could not close feedback log {}: {}", channelDay, e.getMessage());
+            }
+            channel = null;
+            channelDay = null;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        force(true);
+        closeChannel();
+    }
+
+    /**
+     * Reads every stored entry, lines that can't be parsed (e.g. a torn tail) are skipped
+     */
+    public List<FeedbackEntry> readAll() throws IOException {
+        List<FeedbackEntry> entries = new ArrayList<>();
+        for (DayFiles day : dayFiles().values()) {
+            if (day.segment() != null) {
+                readSegment(day.segment(), entries);
+            }
+            if (day.file() != null) {
+                readFile(day.file(), entries);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Files of one day, either may be null
+     *
+     * @param segment compacted entries, see FeedbackCompactor
+     * @param file    NDJSON file; when the day also has a segment it holds only the entries appended after
+     *                the compaction (late entries) and its offsets continue after the segment's sourceLength
+     */
+    record DayFiles(Path segment, Path file) {
+    }
+
+    /**
+     * Files of every day, ordered by day
+     */
+    NavigableMap<String, DayFiles> dayFiles() throws IOException {
+        NavigableMap<String, DayFiles> days = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                FILE_PREFIX + "*{" + FILE_SUFFIX + "," + SEGMENT_SUFFIX + "}")) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                boolean segment = isSegment(file);
+                String suffix = segment ? SEGMENT_SUFFIX : FILE_SUFFIX;
+                String day = name.substring(FILE_PREFIX.length(), name.length() - suffix.length());
+                days.merge(day, segment ? new DayFiles(file, null) : new DayFiles(null, file),
+                        (a, b) -> new DayFiles(a.segment() != null ? a.segment() : b.segment(),
+                                a.file() != null ? a.file() : b.file()));
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Bytes taken by the daily files and segments
+     */
+    long sizeOnDisk() throws IOException {
+        long size = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                FILE_PREFIX + "*{" + FILE_SUFFIX + "," + SEGMENT_SUFFIX + "}")) {
+            for (Path file : stream) {
+                size += Files.size(file);
+            }
+        }
+        return size;
+    }
+
+    static boolean isSegment(Path file) {
+        return file.getFileName().toString().endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static void readSegment(Path file, List<FeedbackEntry> entries) throws IOException {
+        FeedbackSegment segment = FeedbackSegment.open(file);
+        FeedbackEntry[] block = new FeedbackEntry[FeedbackFileIndex.LINES_PER_BLOCK];
+        long[] offsets = new long[FeedbackFileIndex.LINES_PER_BLOCK];
+        for (int b = 0; b < segment.blocks(); b++) {
+            entries.addAll(Arrays.asList(block).subList(0, segment.readBlock(b, block, offsets)));
+        }
+    }
+
+    private void readFile(Path file, List<FeedbackEntry> entries) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    entries.add(objectMapper.readValue(line, FeedbackEntry.class));
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable feedback line in {}: {}", file.getFileName(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * A day before today whose file is not open for writing no longer changes
+     */
+    boolean isSealed(String day) {
+        return day.compareTo(LocalDate.now().toString()) < 0 && !day.equals(channelDay);
+    }
+
+    Path fileOf(String day) {
+        return directory.resolve(FILE_PREFIX + day + FILE_SUFFIX);
+    }
+
+    Path segmentOf(String day) {
+        return directory.resolve(FILE_PREFIX + day + SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Moves a freshly written segment in place of the day's NDJSON file. Runs under the writer lock,
+     * so nothing is appended between the size check and the delete.
+     *
+     * @param compactedSize size of the NDJSON file the segment was built from
+     * @return false when the file grew meanwhile, the segment is discarded and the day stays as it is
+     */
+    synchronized boolean replaceWithSegment(String day, Path segment, long compactedSize) throws IOException {
+        Path file = fileOf(day);
+        if (Files.size(file) != compactedSize) {
+            Files.delete(segment);
+            return false;
+        }
+        if (day.equals(channelDay)) {
+            force(true);
+            closeChannel();
+        }
+        Files.move(segment, segmentOf(day), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.delete(file);
+        return true;
+    }
+
+    private static boolean endsWithoutNewLine(Path file) throws IOException {
+        if (!Files.exists(file) || Files.size(file) == 0) {
+            return false;
+        }
+        try (FileChannel reader = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            reader.read(last, reader.size() - 1);
+            return last.get(0) != NEW_LINE;
+        }
+    }
+
+    /**
+     * Converts the pretty printed JSON array files written by earlier versions into NDJSON files.
+     * Legacy entries go first, the converted file replaces the day's NDJSON file atomically.
+     */
+    private void migrateLegacyFiles() throws IOException {
+        List<Path> legacyFiles = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + LEGACY_SUFFIX)) {
+            stream.forEach(legacyFiles::add);
+        }
+        for (Path legacy : legacyFiles) {
+            String name = legacy.getFileName().toString();
+            String day = name.substring(FILE_PREFIX.length(), name.length() - LEGACY_SUFFIX.length());
+            List<FeedbackEntry> entries;
+            try {
+                String content = Files.readString(legacy);
+                entries = content.isBlank() ? List.of()
+                        : objectMapper.readValue(content, new TypeReference<List<FeedbackEntry>>() {
+                        });
+            } catch (IOException e) {
+                log.warn("Legacy feedback file {} is unreadable and was left in place: {}", name, e.getMessage());
+                continue;
+            }
+
+            Path target = fileOf(day);
+            Path temporary = directory.resolve(FILE_PREFIX + day + FILE_SUFFIX + ".tmp");
+            try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (FeedbackEntry entry : entries) {
+                    out.write(ByteBuffer.wrap(toLine(entry)));
+                }
+                if (Files.exists(target)) {
+                    try (FileChannel existing = FileChannel.open(target, StandardOpenOption.READ)) {
+                        long position = 0;
+                        while (position < existing.size()) {
+                            position += existing.transferTo(position, existing.size() - position, out);
+                        }
+                    }
+                }
+                out.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.delete(legacy);
+            log.info("Migrated {} feedback entries from {} to {}", entries.size(), name, target.getFileName());
+        }
+    }
+}
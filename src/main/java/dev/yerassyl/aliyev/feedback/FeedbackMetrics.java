@@ -0,0 +1,63 @@
+package dev.yerassyl.aliyev.feedback;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Meters of the feedback pipeline, read on scrape: queue depth against its capacity, entries by result
+ * and the size of the store on disk.
+ * <p>
+ * Metrics: feedback.queue.pending, feedback.queue.capacity, feedback.entries{result=written|failed|rejected}
+ * and feedback.files.size.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FeedbackMetrics implements MeterBinder {
+
+    private final FeedbackIngestor feedbackIngestor;
+    private final FeedbackLog feedbackLog;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("feedback.queue.pending", feedbackIngestor, FeedbackIngestor::pending)
+                .description("Feedback entries accepted but not written yet")
+                .register(registry);
+        Gauge.builder("feedback.queue.capacity", feedbackIngestor, FeedbackIngestor::capacity)
+                .description("Feedback entries the queue holds before submissions are rejected")
+                .register(registry);
+        entries(registry, "written", FeedbackIngestor::written);
+        entries(registry, "failed", FeedbackIngestor::failed);
+        entries(registry, "rejected", FeedbackIngestor::rejected);
+        Gauge.builder("feedback.files.size", feedbackLog, FeedbackMetrics::sizeOnDisk)
+                .description("Size of the feedback files and segments")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+    }
+
+    private void entries(MeterRegistry registry, String result,
+                         ToDoubleFunction<FeedbackIngestor> count) {
+        FunctionCounter.builder("feedback.entries", feedbackIngestor, count)
+                .description("Feedback entries by result")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static double sizeOnDisk(FeedbackLog feedbackLog) {
+        try {
+            return feedbackLog.sizeOnDisk();
+        } catch (IOException e) {
+            log.warn("Could not measure the feedback files: {}", e.getMessage());
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package dev.yerassyl.aliyev.feedback;
+
+import java.util.Locale;
+
+/**
+ * Filters and page of a feedback listing, null filters match everything
+ *
+ * @param dateFrom first day, 'yyyy-MM-dd'
+ * @param dateTo   last day, 'yyyy-MM-dd'
+ * @param email    exact address, case insensitive
+ * @param subject  part of the subject, case insensitive
+ * @param cursor   continue after this position, null for the newest entries
+ */
+public record FeedbackQuery(String dateFrom, String dateTo, String email, String subject,
+                            int pageSize, FeedbackCursor cursor) {
+
+    public FeedbackQuery {
+        subject = subject == null || subject.isBlank() ? null : subject.toLowerCase(Locale.ROOT);
+        email = email == null || email.isBlank() ? null : email.trim();
+    }
+
+    public boolean matches(FeedbackEntry entry) {
+        if (email != null && !email.equalsIgnoreCase(entry.email())) {
+            return false;
+        }
+        return subject == null || (entry.subject() != null && entry.subject().toLowerCase(Locale.ROOT).contains(subject));
+    }
+
+    public boolean includesDay(String day) {
+        return (dateFrom == null || day.compareTo(dateFrom) >= 0) && (dateTo == null || day.compareTo(dateTo) <= 0);
+    }
+}
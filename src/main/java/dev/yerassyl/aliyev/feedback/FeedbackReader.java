@@ -0,0 +1,420 @@
+package dev.yerassyl.aliyev.feedback;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Reads pages of feedback newest first. Only the daily files inside the requested date range are opened,
+ * and inside a file only the blocks of its sparse offset index that the page needs are read.
+ * Files of past days are memory mapped once and parsed straight from the mapping; the index and the
+ * mapping are kept per file until its size or modification time changes. Days compacted by FeedbackCompactor
+ * are read block by block from their segment, which is skipped entirely when its bloom filter rules out the email.
+ * Entries that reached a compacted day later sit in its NDJSON file and are read before the segment.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FeedbackReader {
+
+    private final FeedbackLog feedbackLog;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final Map<Path, FeedbackFileSummary> summaries = new ConcurrentHashMap<>();
+    private final Map<Path, FeedbackSegment> segments = new ConcurrentHashMap<>();
+
+    /**
+     * Result of a page read
+     *
+     * @param nextCursor position to continue from, null when nothing is left
+     */
+    public record Page(String nextCursor, boolean hasNext) {
+    }
+
+    /**
+     * Passes the entries of one page to the sink as they are found
+     */
+    public Page read(FeedbackQuery query, Consumer<FeedbackEntry> sink) throws IOException {
+        PageCollector collector = new PageCollector(query, sink);
+        NavigableMap<String, FeedbackLog.DayFiles> days = feedbackLog.dayFiles().descendingMap();
+        Set<Path> listed = new HashSet<>();
+        days.values().forEach(files -> {
+            listed.add(files.segment());
+            listed.add(files.file());
+        });
+        summaries.keySet().retainAll(listed);
+        segments.keySet().retainAll(listed);
+        FeedbackCursor cursor = query.cursor();
+
+        for (Map.Entry<String, FeedbackLog.DayFiles> day : days.entrySet()) {
+            if (!query.includesDay(day.getKey()) || (cursor != null && day.getKey().compareTo(cursor.day()) > 0)) {
+                continue;
+            }
+            long before = cursor != null && day.getKey().equals(cursor.day()) ? cursor.offset() : Long.MAX_VALUE;
+            if (!readDay(day.getKey(), day.getValue(), before, collector)) {
+                break;
+            }
+        }
+        return collector.hasNext
+                ? new Page(collector.last.encode(), true)
+                : new Page(null, false);
+    }
+
+    /**
+     * Passes every stored entry with its position to the visitor, oldest first
+     */
+    public void forEach(BiConsumer<FeedbackCursor, FeedbackEntry> visitor) throws IOException {
+        FeedbackEntry[] entries = new FeedbackEntry[FeedbackFileIndex.LINES_PER_BLOCK];
+        long[] offsets = new long[FeedbackFileIndex.LINES_PER_BLOCK];
+        for (Map.Entry<String, FeedbackLog.DayFiles> day : feedbackLog.dayFiles().entrySet()) {
+            FeedbackLog.DayFiles files = day.getValue();
+            FeedbackSegment segment = files.segment() == null ? null : segmentOrNull(files.segment());
+            if (segment != null) {
+                for (int block = 0; block < segment.blocks(); block++) {
+                    visit(day.getKey(), segment.readBlock(block, entries, offsets), entries, offsets, visitor);
+                }
+            }
+            if (files.file() == null) {
+                continue;
+            }
+            long base = segment == null ? 0 : segment.sourceLength();
+            try {
+                FeedbackFileSummary summary = summaryOf(day.getKey(), files.file());
+                FeedbackFileIndex index = summary.index();
+                try (FileChannel channel = FileChannel.open(files.file(), StandardOpenOption.READ)) {
+                    for (int block = 0; block < index.blocks(); block++) {
+                        long start = index.blockStart(block);
+                        int length = (int) (index.blockEnd(block) - start);
+                        ByteBuffer bytes = summary.isMapped() ? summary.slice(start, start + length)
+                                : readFully(channel, start, length);
+                        visit(day.getKey(), parse(day.getKey(), base + start, bytes, entries, offsets), entries, offsets, visitor);
+                    }
+                }
+            } catch (NoSuchFileException e) {
+                summaries.remove(files.file());
+                log.warn("Feedback file {} disappeared while reading", files.file().getFileName());
+            }
+        }
+    }
+
+    private static void visit(String day, int count, FeedbackEntry[] entries, long[] offsets,
+                              BiConsumer<FeedbackCursor, FeedbackEntry> visitor) {
+        for (int i = 0; i < count; i++) {
+            visitor.accept(new FeedbackCursor(day, offsets[i]), entries[i]);
+        }
+    }
+
+    /**
+     * Entries stored at the positions, in the same order; positions that no longer hold an entry are left out.
+     * Each position costs one block of its day file or segment, a block shared by several positions is read once.
+     */
+    public List<FeedbackEntry> readAt(List<FeedbackCursor> positions) throws IOException {
+        NavigableMap<String, FeedbackLog.DayFiles> days = feedbackLog.dayFiles();
+        Map<String, Block> blocks = new HashMap<>();
+        List<FeedbackEntry> found = new ArrayList<>(positions.size());
+        for (FeedbackCursor position : positions) {
+            FeedbackLog.DayFiles files = days.get(position.day());
+            Block block = files == null ? null : blockOf(position, files, blocks);
+            FeedbackEntry entry = block == null ? null : block.find(position.offset());
+            if (entry != null) {
+                found.add(entry);
+            }
+        }
+        return found;
+    }
+
+    // Decoded block holding the position, from the day's NDJSON tail or its segment
+    private Block blockOf(FeedbackCursor position, FeedbackLog.DayFiles files, Map<String, Block> blocks) throws IOException {
+        String day = position.day();
+        FeedbackSegment segment = files.segment() == null ? null : segmentOrNull(files.segment());
+        long base = segment == null ? 0 : segment.sourceLength();
+        if (files.file() != null && position.offset() >= base) {
+            try {
+                FeedbackFileSummary summary = summaryOf(day, files.file());
+                FeedbackFileIndex index = summary.index();
+                int block = index.blockBefore(position.offset() - base + 1);
+                if (block < 0) {
+                    return null;
+                }
+                String key = files.file() + "@" + block;
+                Block decoded = blocks.get(key);
+                if (decoded == null) {
+                    long start = index.blockStart(block);
+                    int length = (int) (index.blockEnd(block) - start);
+                    ByteBuffer bytes;
+                    if (summary.isMapped()) {
+                        bytes = summary.slice(start, start + length);
+                    } else {
+                        try (FileChannel channel = FileChannel.open(files.file(), StandardOpenOption.READ)) {
+                            bytes = readFully(channel, start, length);
+                        }
+                    }
+                    decoded = new Block();
+                    decoded.count = parse(day, base + start, bytes, decoded.entries, decoded.offsets);
+                    blocks.put(key, decoded);
+                }
+                return decoded;
+            } catch (NoSuchFileException e) {
+                // Merged into the segment meanwhile, the entry keeps its offset there
+                summaries.remove(files.file());
+                segment = segmentOrNull(feedbackLog.segmentOf(day));
+            }
+        }
+        if (segment == null) {
+            return null;
+        }
+        int block = segment.blockBefore(position.offset() + 1);
+        if (block < 0) {
+            return null;
+        }
+        String key = day + FeedbackLog.SEGMENT_SUFFIX + "@" + block;
+        Block decoded = blocks.get(key);
+        if (decoded == null) {
+            decoded = new Block();
+            decoded.count = segment.readBlock(block, decoded.entries, decoded.offsets);
+            blocks.put(key, decoded);
+        }
+        return decoded;
+    }
+
+    /**
+     * Entries of one decoded block with their offsets, ascending
+     */
+    private static final class Block {
+        private final FeedbackEntry[] entries = new FeedbackEntry[FeedbackFileIndex.LINES_PER_BLOCK];
+        private final long[] offsets = new long[FeedbackFileIndex.LINES_PER_BLOCK];
+        private int count;
+
+        FeedbackEntry find(long offset) {
+            int position = Arrays.binarySearch(offsets, 0, count, offset);
+            return position >= 0 ? entries[position] : null;
+        }
+    }
+
+    // Feeds the day's entries stored before the offset to the collector, newest first; false once the page is done
+    private boolean readDay(String day, FeedbackLog.DayFiles files, long before, PageCollector collector) throws IOException {
+        FeedbackSegment segment = files.segment() == null ? null : segmentOrNull(files.segment());
+        // Offsets of late entries continue after the data the segment was built from
+        long base = segment == null ? 0 : segment.sourceLength();
+        if (files.file() != null && before > base) {
+            FeedbackFileSummary summary;
+            try {
+                summary = summaryOf(day, files.file());
+            } catch (NoSuchFileException e) {
+                // Compacted while listing, the new segment holds these entries and everything before them
+                summaries.remove(files.file());
+                FeedbackSegment merged = segmentOrNull(feedbackLog.segmentOf(day));
+                return merged == null || readSegment(day, merged, before, collector);
+            }
+            if (!readFile(day, files.file(), summary, base, before - base, collector)) {
+                return false;
+            }
+        }
+        return segment == null || readSegment(day, segment, before, collector);
+    }
+
+    private boolean readFile(String day, Path file, FeedbackFileSummary summary, long base, long before,
+                             PageCollector collector) throws IOException {
+        FeedbackFileIndex index = summary.index();
+        int first = index.blockBefore(Math.min(before, index.length()));
+        if (first < 0) {
+            return true;
+        }
+        if (summary.isMapped()) {
+            for (int block = first; block >= 0; block--) {
+                long start = index.blockStart(block);
+                long end = Math.min(index.blockEnd(block), before);
+                if (!readBlock(day, base + start, summary.slice(start, end), collector)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (int block = first; block >= 0; block--) {
+                long start = index.blockStart(block);
+                long end = Math.min(index.blockEnd(block), before);
+                if (!readBlock(day, base + start, readFully(channel, start, (int) (end - start)), collector)) {
+                    return false;
+                }
+            }
+        } catch (NoSuchFileException e) {
+            summaries.remove(file);
+        }
+        return true;
+    }
+
+    // Null when the segment is gone
+    private FeedbackSegment segmentOrNull(Path file) throws IOException {
+        try {
+            return segmentOf(file);
+        } catch (NoSuchFileException e) {
+            segments.remove(file);
+            return null;
+        }
+    }
+
+    private boolean readSegment(String day, FeedbackSegment segment, long before, PageCollector collector) throws IOException {
+        String email = collector.query.email();
+        if (email != null && !segment.mightContainEmail(email)) {
+            return true;
+        }
+        FeedbackEntry[] entries = new FeedbackEntry[FeedbackFileIndex.LINES_PER_BLOCK];
+        long[] offsets = new long[FeedbackFileIndex.LINES_PER_BLOCK];
+        for (int block = segment.blockBefore(before); block >= 0; block--) {
+            int count = segment.readBlock(block, entries, offsets);
+            for (int record = count - 1; record >= 0; record--) {
+                if (offsets[record] < before && !collector.offer(entries[record], new FeedbackCursor(day, offsets[record]))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Segments are immutable, only a merge of late entries replaces one
+    private FeedbackSegment segmentOf(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        FeedbackSegment segment = segments.get(file);
+        if (segment == null || !segment.isCurrent(attributes)) {
+            segment = FeedbackSegment.open(file);
+            segments.put(file, segment);
+        }
+        return segment;
+    }
+
+    /**
+     * Cached summary of the file, rebuilt only when its size or modification time changed
+     */
+    FeedbackFileSummary summaryOf(String day, Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        FeedbackFileSummary summary = summaries.get(file);
+        boolean sealed = feedbackLog.isSealed(day);
+        // A day that has just ended gets mapped even though its file did not change
+        if (summary == null || !summary.isCurrent(attributes) || (sealed && !summary.isMapped())) {
+            summary = FeedbackFileSummary.build(file, attributes, summary, sealed);
+            summaries.put(file, summary);
+        }
+        return summary;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        return buffer.flip();
+    }
+
+    private boolean readBlock(String day, long blockStart, ByteBuffer bytes, PageCollector collector) {
+        FeedbackEntry[] entries = new FeedbackEntry[FeedbackFileIndex.LINES_PER_BLOCK];
+        long[] offsets = new long[FeedbackFileIndex.LINES_PER_BLOCK];
+        int count = parse(day, blockStart, bytes, entries, offsets);
+        for (int line = count - 1; line >= 0; line--) {
+            if (!collector.offer(entries[line], new FeedbackCursor(day, offsets[line]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int parse(String day, long blockStart, ByteBuffer bytes, FeedbackEntry[] entries, long[] offsets) {
+        try {
+            return parseBlock(bytes.duplicate(), blockStart, entries, offsets);
+        } catch (IOException e) {
+            // A damaged line breaks the stream, fall back to parsing the block line by line
+            return parseLines(day, bytes.duplicate(), blockStart, entries, offsets);
+        }
+    }
+
+    // One streaming parser over the whole block, reading straight from the (mapped) buffer
+    private int parseBlock(ByteBuffer bytes, long blockStart, FeedbackEntry[] entries, long[] offsets) throws IOException {
+        int count = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(new ByteBufferBackedInputStream(bytes))) {
+            while (count < entries.length && parser.nextToken() == JsonToken.START_OBJECT) {
+                offsets[count] = blockStart + parser.currentTokenLocation().getByteOffset();
+                entries[count++] = objectMapper.readValue(parser, FeedbackEntry.class);
+            }
+        }
+        return count;
+    }
+
+    private int parseLines(String day, ByteBuffer bytes, long blockStart, FeedbackEntry[] entries, long[] offsets) {
+        int count = 0;
+        int lineStart = 0;
+        for (int i = 0; i < bytes.limit() && count < entries.length; i++) {
+            if (bytes.get(i) != '\n') {
+                continue;
+            }
+            if (i > lineStart) {
+                try (JsonParser parser = objectMapper.getFactory().createParser(
+                        new ByteBufferBackedInputStream(bytes.slice(lineStart, i - lineStart)))) {
+                    entries[count] = objectMapper.readValue(parser, FeedbackEntry.class);
+                    offsets[count++] = blockStart + lineStart;
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable feedback line in {} at {}: {}", day, blockStart + lineStart, e.getMessage());
+                }
+            }
+            lineStart = i + 1;
+        }
+        return count;
+    }
+
+    /**
+     * Counts matches, passes the first pageSize on and stops at the first one past the page
+     */
+    private static final class PageCollector {
+        private final FeedbackQuery query;
+        private final Consumer<FeedbackEntry> sink;
+        private int taken;
+        private FeedbackCursor last;
+        private boolean hasNext;
+
+        private PageCollector(FeedbackQuery query, Consumer<FeedbackEntry> sink) {
+            this.query = query;
+            this.sink = sink;
+            this.last = query.cursor();
+        }
+
+        boolean offer(FeedbackEntry entry, FeedbackCursor position) {
+            if (!query.matches(entry)) {
+                return true;
+            }
+            if (taken == query.pageSize()) {
+                hasNext = last != null;
+                return false;
+            }
+            sink.accept(entry);
+            taken++;
+            last = position;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package dev.yerassyl.aliyev.feedback;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inverted index over the subject and message of every feedback entry.
+ * <p>
+ * Entries get sequential document ids, so each posting list (parallel int arrays of document ids and
+ * term frequencies) stays sorted simply by appending. A query matches documents containing all of its
+ * terms; hits are ranked by tf-idf, newer entries first on equal score. Built from the feedback directory
+ * at startup and extended by FeedbackIngestor after every written batch.
+ * <p>
+ * The entries themselves stay on disk: a document is only its position (day and offset, 12 bytes),
+ * the hits of the requested page are read back through FeedbackReader.
+ */
+@Slf4j
+@Component
+public class FeedbackSearchIndex {
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private final FeedbackReader feedbackReader;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> terms = new HashMap<>();
+    // Position of every document: index into days and the offset in that day
+    private final List<String> days = new ArrayList<>();
+    private final Map<String, Integer> dayIds = new HashMap<>();
+    private int[] documentDays = new int[1024];
+    private long[] documentOffsets = new long[1024];
+    private int documents;
+
+    public FeedbackSearchIndex(FeedbackReader feedbackReader) throws IOException {
+        this.feedbackReader = feedbackReader;
+        long start = System.nanoTime();
+        feedbackReader.forEach(this::add);
+        log.info("Feedback search index built: {} entries, {} terms in {} ms",
+                documents, terms.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * One page of ranked hits
+     *
+     * @param total number of matching entries
+     */
+    public record Result(int total, List<FeedbackEntry> hits) {
+    }
+
+    /**
+     * Indexes a stored entry
+     *
+     * @param position where FeedbackLog wrote it
+     */
+    public void add(FeedbackCursor position, FeedbackEntry entry) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokenize(entry.subject(), token -> frequencies.merge(token, 1, Integer::sum));
+        tokenize(entry.message(), token -> frequencies.merge(token, 1, Integer::sum));
+
+        lock.writeLock().lock();
+        try {
+            int document = documents++;
+            if (document == documentDays.length) {
+                documentDays = Arrays.copyOf(documentDays, document * 2);
+                documentOffsets = Arrays.copyOf(documentOffsets, document * 2);
+            }
+            documentDays[document] = dayIds.computeIfAbsent(position.day(), day -> {
+                days.add(day);
+                return days.size() - 1;
+            });
+            documentOffsets[document] = position.offset();
+            frequencies.forEach((term, frequency) ->
+                    terms.computeIfAbsent(term, key -> new Postings()).add(document, frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Result search(String query, int pageNumber, int pageSize) throws IOException {
+        Set<String> queryTerms = new LinkedHashSet<>();
+        tokenize(query, queryTerms::add);
+        if (queryTerms.isEmpty()) {
+            return new Result(0, List.of());
+        }
+
+        int matchCount;
+        List<FeedbackCursor> positions;
+        lock.readLock().lock();
+        try {
+            Postings[] postings = new Postings[queryTerms.size()];
+            int i = 0;
+            for (String term : queryTerms) {
+                postings[i] = terms.get(term);
+                if (postings[i++] == null) {
+                    return new Result(0, List.of());
+                }
+            }
+            // Rarest term first keeps the intersection small
+            Arrays.sort(postings, (a, b) -> Integer.compare(a.size, b.size));
+            int[] matches = Arrays.copyOf(postings[0].documents, postings[0].size);
+            matchCount = matches.length;
+            for (int p = 1; p < postings.length && matchCount > 0; p++) {
+                matchCount = postings[p].retain(matches, matchCount);
+            }
+
+            double[] scores = new double[matchCount];
+            int documentCount = documents;
+            for (Postings posting : postings) {
+                double idf = Math.log(1.0 + (double) documentCount / posting.size);
+                int cursor = 0;
+                for (int m = 0; m < matchCount; m++) {
+                    cursor = posting.find(matches[m], cursor);
+                    scores[m] += (1.0 + Math.log(posting.frequencies[cursor])) * idf;
+                }
+            }
+
+            Integer[] order = new Integer[matchCount];
+            for (int m = 0; m < matchCount; m++) {
+                order[m] = m;
+            }
+            Arrays.sort(order, (a, b) -> {
+                int byScore = Double.compare(scores[b], scores[a]);
+                return byScore != 0 ? byScore : Integer.compare(matches[b], matches[a]);
+            });
+
+            int from = (int) Math.min((long) pageNumber * pageSize, matchCount);
+            int to = Math.min(from + pageSize, matchCount);
+            positions = new ArrayList<>(to - from);
+            for (int m = from; m < to; m++) {
+                int document = matches[order[m]];
+                positions.add(new FeedbackCursor(days.get(documentDays[document]), documentOffsets[document]));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Only the page is read from disk, outside the lock
+        return new Result(matchCount, feedbackReader.readAt(positions));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits on everything that is not a letter or digit, so Cyrillic and Latin words are both kept.
+     * Tokens are lower cased and 'ё' is folded into 'е'.
+     */
+    static void tokenize(String text, Consumer<String> sink) {
+        if (text == null) {
+            return;
+        }
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                c = Character.toLowerCase(c);
+                token.append(c == 'ё' ? 'е' : c);
+            } else if (!token.isEmpty()) {
+                if (token.length() >= MIN_TOKEN_LENGTH) {
+                    sink.accept(token.toString());
+                }
+                token.setLength(0);
+            }
+        }
+    }
+
+    /**
+     * Document ids in ascending order with the term's frequency in each
+     */
+    private static final class Postings {
+        private int[] documents = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int document, int frequency) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            documents[size] = document;
+            frequencies[size++] = frequency;
+        }
+
+        // Keeps the candidates that are in this list, returns how many are left
+        int retain(int[] candidates, int count) {
+            int kept = 0;
+            int cursor = 0;
+            for (int c = 0; c < count; c++) {
+                cursor = find(candidates[c], cursor);
+                if (cursor < size && documents[cursor] == candidates[c]) {
+                    candidates[kept++] = candidates[c];
+                }
+            }
+            return kept;
+        }
+
+        // Position of the first document >= target, searching from 'from' with galloping steps
+        int find(int target, int from) {
+            int step = 1;
+            int high = from;
+            while (high < size && documents[high] < target) {
+                from = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            int position = Arrays.binarySearch(documents, from, Math.min(high + 1, size), target);
+            return position >= 0 ? position : -position - 1;
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package dev.yerassyl.aliyev.feedback;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Compacted, read-only archive of one day of feedback (feedback_yyyy-MM-dd.seg).
+ * <p>
+ * Records are grouped in blocks of FeedbackFileIndex.LINES_PER_BLOCK. A block stores its columns one after
+ * another (source offsets, timestamps, names, emails, subjects, messages, each string length-prefixed UTF-8)
+ * and is deflated as a whole, so repeated values compress well. The footer holds the record count,
+ * the timestamp range, the position of every block and a bloom filter of the (lower case) emails.
+ * <p>
+ * Every record keeps the offset its line had in the NDJSON file it was compacted from, so cursors handed
+ * out before the compaction keep pointing at the same place.
+ */
+final class FeedbackSegment {
+
+    private static final int MAGIC = 0x46425331; // "FBS1"
+    private static final int TRAILER = Long.BYTES + Integer.BYTES;
+    private static final int BLOOM_BITS_PER_EMAIL = 10;
+    private static final int BLOOM_HASHES = 7;
+
+    private final MappedByteBuffer mapping;
+    private final long size;
+    private final FileTime modified;
+    private final int count;
+    private final long sourceLength;
+    private final String firstTimestamp;
+    private final String lastTimestamp;
+    private final long[] blockPositions;
+    private final long[] blockSourceStarts;
+    private final long[] bloom;
+
+    private FeedbackSegment(MappedByteBuffer mapping, BasicFileAttributes attributes) {
+        this.mapping = mapping;
+        this.size = attributes.size();
+        this.modified = attributes.lastModifiedTime();
+        if (size < Integer.BYTES + TRAILER || mapping.getInt((int) size - Integer.BYTES) != MAGIC
+                || mapping.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Not a feedback segment");
+        }
+        ByteBuffer footer = mapping.duplicate().position((int) mapping.getLong((int) size - TRAILER));
+        this.count = footer.getInt();
+        this.sourceLength = footer.getLong();
+        this.firstTimestamp = readString(footer);
+        this.lastTimestamp = readString(footer);
+        int blocks = footer.getInt();
+        this.blockPositions = new long[blocks];
+        this.blockSourceStarts = new long[blocks];
+        for (int block = 0; block < blocks; block++) {
+            blockPositions[block] = footer.getLong();
+            blockSourceStarts[block] = footer.getLong();
+        }
+        this.bloom = new long[footer.getInt()];
+        footer.asLongBuffer().get(bloom);
+    }
+
+    /**
+     * Maps the segment, the mapping stays valid after the file is replaced or deleted
+     */
+    static FeedbackSegment open(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            try {
+                return new FeedbackSegment(channel.map(FileChannel.MapMode.READ_ONLY, 0, attributes.size()), attributes);
+            } catch (RuntimeException e) {
+                throw new IOException("Corrupt feedback segment " + file.getFileName(), e);
+            }
+        }
+    }
+
+    /**
+     * Writes entries (in the order they were logged) with their source offsets into a new segment file
+     */
+    static void write(Path file, List<FeedbackEntry> entries, long[] sourceOffsets, long sourceLength) throws IOException {
+        int blocks = (entries.size() + FeedbackFileIndex.LINES_PER_BLOCK - 1) / FeedbackFileIndex.LINES_PER_BLOCK;
+        long[] positions = new long[blocks];
+        long[] bloom = new long[Math.max(1, (entries.size() * BLOOM_BITS_PER_EMAIL + 63) / 64)];
+        for (FeedbackEntry entry : entries) {
+            addToBloom(bloom, entry.email());
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            CountingOutputStream counter = new CountingOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            DataOutputStream out = new DataOutputStream(counter);
+            out.writeInt(MAGIC);
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try {
+                for (int block = 0; block < blocks; block++) {
+                    int from = block * FeedbackFileIndex.LINES_PER_BLOCK;
+                    int to = Math.min(entries.size(), from + FeedbackFileIndex.LINES_PER_BLOCK);
+                    byte[] raw = encodeBlock(entries.subList(from, to), Arrays.copyOfRange(sourceOffsets, from, to));
+                    ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 3);
+                    deflater.reset();
+                    try (DeflaterOutputStream deflating = new DeflaterOutputStream(compressed, deflater)) {
+                        deflating.write(raw);
+                    }
+                    out.flush();
+                    positions[block] = counter.count;
+                    out.writeInt(raw.length);
+                    out.writeInt(compressed.size());
+                    compressed.writeTo(out);
+                }
+            } finally {
+                deflater.end();
+            }
+
+            out.flush();
+            long footer = counter.count;
+            out.writeInt(entries.size());
+            out.writeLong(sourceLength);
+            writeString(out, entries.isEmpty() ? null : entries.get(0).timestamp());
+            writeString(out, entries.isEmpty() ? null : entries.get(entries.size() - 1).timestamp());
+            out.writeInt(blocks);
+            for (int block = 0; block < blocks; block++) {
+                out.writeLong(positions[block]);
+                out.writeLong(sourceOffsets[block * FeedbackFileIndex.LINES_PER_BLOCK]);
+            }
+            out.writeInt(bloom.length);
+            for (long word : bloom) {
+                out.writeLong(word);
+            }
+            out.writeLong(footer);
+            out.writeInt(MAGIC);
+            out.flush();
+            channel.force(true);
+        }
+    }
+
+    int count() {
+        return count;
+    }
+
+    /**
+     * Length of the NDJSON data the segment was built from, offsets of later lines start here
+     */
+    long sourceLength() {
+        return sourceLength;
+    }
+
+    String firstTimestamp() {
+        return firstTimestamp;
+    }
+
+    String lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    int blocks() {
+        return blockPositions.length;
+    }
+
+    /**
+     * Last block whose first record starts before the source offset, -1 if none
+     */
+    int blockBefore(long sourceOffset) {
+        int position = Arrays.binarySearch(blockSourceStarts, sourceOffset);
+        return position >= 0 ? position - 1 : -position - 2;
+    }
+
+    /**
+     * False means no entry of the segment has this email, true means it may have one
+     */
+    boolean mightContainEmail(String email) {
+        long[] hashes = hashes(email);
+        long bits = bloom.length * 64L;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = Math.floorMod(hashes[0] + i * hashes[1], bits);
+            if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isCurrent(BasicFileAttributes attributes) {
+        return size == attributes.size() && modified.equals(attributes.lastModifiedTime());
+    }
+
+    /**
+     * Decodes one block into the arrays, returns the number of records
+     */
+    int readBlock(int block, FeedbackEntry[] entries, long[] sourceOffsets) throws IOException {
+        int position = (int) blockPositions[block];
+        byte[] raw = new byte[mapping.getInt(position)];
+        int compressedLength = mapping.getInt(position + Integer.BYTES);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(mapping.slice(position + 2 * Integer.BYTES, compressedLength));
+            int inflated = 0;
+            while (inflated < raw.length && !inflater.finished()) {
+                int read = inflater.inflate(raw, inflated, raw.length - inflated);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += read;
+            }
+            if (inflated != raw.length) {
+                throw new IOException("Truncated feedback segment block " + block);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt feedback segment block " + block, e);
+        } finally {
+            inflater.end();
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(raw);
+        int records = in.getInt();
+        for (int i = 0; i < records; i++) {
+            sourceOffsets[i] = in.getLong();
+        }
+        String[][] columns = new String[5][records];
+        for (String[] column : columns) {
+            for (int i = 0; i < records; i++) {
+                column[i] = readString(in);
+            }
+        }
+        for (int i = 0; i < records; i++) {
+            entries[i] = new FeedbackEntry(columns[0][i], columns[1][i], columns[2][i], columns[3][i], columns[4][i]);
+        }
+        return records;
+    }
+
+    private static byte[] encodeBlock(List<FeedbackEntry> entries, long[] sourceOffsets) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(entries.size());
+        for (long offset : sourceOffsets) {
+            out.writeLong(offset);
+        }
+        for (FeedbackEntry entry : entries) {
+            writeString(out, entry.timestamp());
+        }
+        for (FeedbackEntry entry : entries) {
+            writeString(out, entry.name());
+        }
+        for (FeedbackEntry entry : entries) {
+            writeString(out, entry.email());
+        }
+        for (FeedbackEntry entry : entries) {
+            writeString(out, entry.subject());
+        }
+        for (FeedbackEntry entry : entries) {
+            writeString(out, entry.message());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    // Length-prefixed UTF-8, -1 for null
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(in.position(), bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static void addToBloom(long[] bloom, String email) {
+        long[] hashes = hashes(email);
+        long bits = bloom.length * 64L;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = Math.floorMod(hashes[0] + i * hashes[1], bits);
+            bloom[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    // Two independent hashes for double hashing, emails match case insensitively
+    private static long[] hashes(String email) {
+        String key = email == null ? "" : email.toLowerCase(Locale.ROOT);
+        long h1 = 1125899906842597L;
+        for (int i = 0; i < key.length(); i++) {
+            h1 = 31 * h1 + key.charAt(i);
+        }
+        long h2 = h1 * 0x9E3779B97F4A7C15L;
+        h2 ^= h2 >>> 29;
+        return new long[]{h1, h2 | 1};
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream out;
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package dev.yerassyl.aliyev.feedback;
+
+/**
+ * When appended feedback is forced from the OS page cache to the disk
+ */
+public enum FsyncPolicy {
+    /** Every group commit is forced before the callers return */
+    ALWAYS,
+    /** Forced at most once per configured interval, a crash can lose the last interval */
+    INTERVAL,
+    /** Left to the OS, forced only on rotation and shutdown */
+    NEVER
+}
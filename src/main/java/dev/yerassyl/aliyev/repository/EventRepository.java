@@ -1,20 +1,95 @@
 package dev.yerassyl.aliyev.repository;
 
+import dev.yerassyl.aliyev.constants.AppConstants;
+import dev.yerassyl.aliyev.dto.EventView;
 import dev.yerassyl.aliyev.entity.Event;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Reads return EventView projections selecting only the exposed columns, entities are loaded for writes only
+ */
 @Repository
 public interface EventRepository extends JpaRepository<Event, Integer> {
 
-    @Query(value = "SELECT * FROM event  WHERE event.available_from >= ?1 AND event.available_to <= ?2 AND event.ID NOT IN " +
-            "(SELECT event_id FROM reservation WHERE (check_in >= ?1 OR check_out <= ?2))", nativeQuery = true)
-    List<Event> findAllBetweenDates(@Param("dateFrom") String dateFrom, @Param("dateTo") String dateTo);
+    String EVENT_VIEW = "SELECT new dev.yerassyl.aliyev.dto.EventView(e.id, e.name, e.type, e.description, " +
+            "e.availableFrom, e.availableTo, e.status, e.capacity, e.seatsTaken) FROM Event e";
+
+    @Query(EVENT_VIEW + " ORDER BY e.id")
+    List<EventView> findAllViews();
+
+    // Sorting and paging come from the Pageable, no count query is run
+    @Query(EVENT_VIEW)
+    List<EventView> findViews(Pageable pageable);
+
+    @Query(EVENT_VIEW + " WHERE e.id = :id")
+    Optional<EventView> findViewById(@Param("id") Integer id);
+
+    @Query(EVENT_VIEW + " WHERE e.id IN :ids")
+    List<EventView> findViewsByIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Events running within the dates that still have free seats.
+     * Dates are DATE columns (see DateStringConverter), the range is served by idx_event_available_from_to
+     * and the seat counter replaces the scan over reservation.
+     */
+    @Query(EVENT_VIEW + " WHERE e.availableFrom >= :dateFrom AND e.availableTo <= :dateTo " +
+            "AND e.seatsTaken < e.capacity ORDER BY e.availableFrom, e.id")
+    List<EventView> findAllBetweenDates(@Param("dateFrom") String dateFrom, @Param("dateTo") String dateTo);
+
+    /**
+     * Events that can match an availability search, loaded into EventAvailabilityIndex
+     */
+    @Query(EVENT_VIEW + " WHERE e.availableFrom IS NOT NULL AND e.availableTo IS NOT NULL")
+    List<EventView> findAllWithAvailability();
     
+    /**
+     * Streams every event with a JDBC fetch size instead of loading the whole table, must run inside a transaction
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppConstants.STREAM_FETCH_SIZE))
+    @Query(EVENT_VIEW)
+    Stream<EventView> streamAll();
+
+    /**
+     * Keyset (seek) pagination: reads the next 'limit' rows after the position, without an offset or count query
+     */
+    Window<EventView> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Atomically takes a seat of an active event that still has free capacity.
+     * The row lock is held per event only, so bookings for different events never wait on each other.
+     *
+     * @return 1 if a seat was taken, 0 if the event does not exist, is inactive or is full
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.seatsTaken = e.seatsTaken + 1 " +
+            "WHERE e.id = :id AND e.status = true AND e.seatsTaken < e.capacity")
+    int claimSeat(@Param("id") Integer id);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.seatsTaken = e.seatsTaken - 1 WHERE e.id = :id AND e.seatsTaken > 0")
+    int releaseSeat(@Param("id") Integer id);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.seatsTaken = (SELECT COUNT(r) FROM Reservation r WHERE r.eventId = e.id)")
+    int syncSeatsTaken();
+
     // Метод для принудительного применения изменений
     @Override
     void flush();
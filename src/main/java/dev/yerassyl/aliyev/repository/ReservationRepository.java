@@ -1,9 +1,47 @@
 package dev.yerassyl.aliyev.repository;
 
+import dev.yerassyl.aliyev.constants.AppConstants;
+import dev.yerassyl.aliyev.dto.ReservationView;
 import dev.yerassyl.aliyev.entity.Reservation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Reads return ReservationView projections selecting only the exposed columns, entities are loaded for writes only
+ */
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Integer> {
+
+    String RESERVATION_VIEW = "SELECT new dev.yerassyl.aliyev.dto.ReservationView(r.id, r.eventId, r.checkIn, r.status) " +
+            "FROM Reservation r";
+
+    @Query(RESERVATION_VIEW + " ORDER BY r.id")
+    List<ReservationView> findAllViews();
+
+    @Query(RESERVATION_VIEW + " WHERE r.id = :id")
+    Optional<ReservationView> findViewById(@Param("id") Integer id);
+
+    /**
+     * Streams every reservation with a JDBC fetch size instead of loading the whole table, must run inside a transaction
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppConstants.STREAM_FETCH_SIZE))
+    @Query(RESERVATION_VIEW)
+    Stream<ReservationView> streamAll();
+
+    // Served by the (event_id, check_in) unique constraint index, event_id is its leading column
+    boolean existsByEventId(Integer eventId);
+
+    // Served by the (event_id, check_in) unique constraint index.
+    // "CheckIn" can't be used in a derived query name, the "In" suffix is parsed as a keyword
+    @Query("SELECT COUNT(r) > 0 FROM Reservation r WHERE r.eventId = :eventId AND r.checkIn = :studentId")
+    boolean existsByEventIdAndStudentId(@Param("eventId") Integer eventId, @Param("studentId") String studentId);
 }
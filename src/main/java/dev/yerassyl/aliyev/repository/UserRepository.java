@@ -1,8 +1,16 @@
 package dev.yerassyl.aliyev.repository;
 
+import dev.yerassyl.aliyev.constants.AppConstants;
+import dev.yerassyl.aliyev.dto.UserCredentials;
 import dev.yerassyl.aliyev.entity.User;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -10,5 +18,14 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Integer> {
     Optional<User> findByStudentId(String studentId);
     boolean existsByStudentId(String studentId);
-}
 
+    // Unknown studentIds are not cached, a later registration is visible right away
+    @Cacheable(cacheNames = AppConstants.USER_CREDENTIALS_CACHE, key = "#p0", unless = "#result == null")
+    Optional<UserCredentials> findCredentialsByStudentId(String studentId);
+
+    @Transactional
+    @Modifying
+    @CacheEvict(cacheNames = AppConstants.USER_CREDENTIALS_CACHE, key = "#p0")
+    @Query("update User u set u.password = :password, u.lastModifiedDate = CURRENT_TIMESTAMP where u.studentId = :studentId")
+    int updatePassword(@Param("studentId") String studentId, @Param("password") String password);
+}
@@ -0,0 +1,20 @@
+package dev.yerassyl.aliyev.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Controller parameter (Integer) that receives the id of the logged in user, taken from the login token
+ * (cookie or 'Authorization: Bearer' header). Null when there is no valid token and required is false.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUser {
+
+    /**
+     * Answer with "Необходимо войти в систему" instead of passing null
+     */
+    boolean required() default true;
+}
@@ -0,0 +1,144 @@
+package dev.yerassyl.aliyev.security;
+
+import dev.yerassyl.aliyev.constants.ErrorMessages;
+import dev.yerassyl.aliyev.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets for login attempts, one set keyed by studentId and one by client address.
+ * <p>
+ * Each attempt takes a token from both buckets; a bucket holds up to 'burst' tokens and gets 'per-minute'
+ * back every minute. Attempts beyond that are refused with 429 before they cost a database query and a
+ * password hash. Keys are hashed with a random seed onto a fixed number of stripes, so memory stays bounded
+ * whatever the attacker sends; two keys sharing a stripe share a bucket. A bucket is a single long
+ * (last update time and spent tokens) updated with compare-and-set, each on its own cache line.
+ * <p>
+ * Metrics: login.attempts and login.rejected{limit=student|address}.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final int LONGS_PER_STRIPE = 8;
+    // Low bits of a bucket hold the spent tokens in thousandths, the high bits the time of the last take
+    private static final int SPENT_BITS = 24;
+    private static final long SPENT_MASK = (1L << SPENT_BITS) - 1;
+    private static final long TOKEN = 1000;
+
+    private final Buckets studentBuckets;
+    private final Buckets addressBuckets;
+    private final LongSupplier clock;
+    private final long origin;
+    private final Counter attempts;
+    private final Counter studentRejections;
+    private final Counter addressRejections;
+
+    @Autowired
+    public LoginRateLimiter(@Value("${app.security.login.student-burst}") int studentBurst,
+                            @Value("${app.security.login.student-per-minute}") int studentPerMinute,
+                            @Value("${app.security.login.address-burst}") int addressBurst,
+                            @Value("${app.security.login.address-per-minute}") int addressPerMinute,
+                            @Value("${app.security.login.stripes}") int stripes,
+                            MeterRegistry meterRegistry) {
+        this(studentBurst, studentPerMinute, addressBurst, addressPerMinute, stripes, meterRegistry,
+                System::currentTimeMillis, ThreadLocalRandom.current().nextLong());
+    }
+
+    LoginRateLimiter(int studentBurst, int studentPerMinute, int addressBurst, int addressPerMinute, int stripes,
+                     MeterRegistry meterRegistry, LongSupplier clock, long seed) {
+        this.studentBuckets = new Buckets(studentBurst, studentPerMinute, stripes, seed);
+        this.addressBuckets = new Buckets(addressBurst, addressPerMinute, stripes, ~seed);
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+        this.attempts = Counter.builder("login.attempts")
+                .description("Login attempts checked by the rate limiter")
+                .register(meterRegistry);
+        this.studentRejections = rejections(meterRegistry, "student");
+        this.addressRejections = rejections(meterRegistry, "address");
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String limit) {
+        return Counter.builder("login.rejected")
+                .description("Login attempts refused by the rate limiter")
+                .tag("limit", limit)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a token for the attempt from the studentId and the address buckets
+     *
+     * @throws TooManyRequestsException when either bucket is empty, with the time until it has a token again
+     */
+    public void acquire(String studentId, String address) {
+        attempts.increment();
+        long now = Math.max(0, clock.getAsLong() - origin);
+        // Address first: once a client is cut off, its further attempts no longer drain the studentId buckets
+        long wait = addressBuckets.take(address, now);
+        if (wait > 0) {
+            addressRejections.increment();
+            throw new TooManyRequestsException(ErrorMessages.LOGIN_THROTTLED, (wait + 999) / 1000);
+        }
+        wait = studentBuckets.take(studentId, now);
+        if (wait > 0) {
+            studentRejections.increment();
+            throw new TooManyRequestsException(ErrorMessages.LOGIN_THROTTLED, (wait + 999) / 1000);
+        }
+    }
+
+    private static final class Buckets {
+        private final long capacity;
+        private final long perMinute;
+        private final int mask;
+        private final long seed;
+        private final AtomicLongArray slots;
+
+        Buckets(int burst, int perMinute, int stripes, long seed) {
+            this.seed = seed;
+            this.capacity = Math.min(Math.max(1, burst) * TOKEN, SPENT_MASK);
+            this.perMinute = Math.max(1, perMinute);
+            int size = Integer.highestOneBit(Math.max(2, stripes) - 1) << 1;
+            this.mask = size - 1;
+            this.slots = new AtomicLongArray(size * LONGS_PER_STRIPE);
+        }
+
+        /**
+         * Takes one token, returns 0 on success or the milliseconds until a token is available
+         */
+        long take(String key, long now) {
+            int slot = slot(key);
+            while (true) {
+                long state = slots.get(slot);
+                long last = state >>> SPENT_BITS;
+                // A zero slot is a full bucket; perMinute tokens a minute is perMinute / 60 thousandths a millisecond
+                long spent = Math.max(0, (state & SPENT_MASK) - Math.max(0, now - last) * perMinute / 60);
+                if (spent + TOKEN > capacity) {
+                    return ((spent + TOKEN - capacity) * 60 + perMinute - 1) / perMinute;
+                }
+                long updated = (Math.max(now, last) << SPENT_BITS) | (spent + TOKEN);
+                if (slots.compareAndSet(slot, state, updated)) {
+                    return 0;
+                }
+            }
+        }
+
+        private int slot(String key) {
+            long hash = seed;
+            if (key != null) {
+                for (int i = 0; i < key.length(); i++) {
+                    hash = (hash ^ key.charAt(i)) * 0x100000001B3L;
+                }
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xFF51AFD7ED558CCDL;
+            hash ^= hash >>> 33;
+            return ((int) hash & mask) * LONGS_PER_STRIPE;
+        }
+    }
+}
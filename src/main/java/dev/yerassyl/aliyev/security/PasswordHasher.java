@@ -0,0 +1,23 @@
+package dev.yerassyl.aliyev.security;
+
+/**
+ * Turns passwords into stored hashes and checks them. A stored hash names its own algorithm and cost,
+ * so hashes written with older settings keep working and can be upgraded on the next login.
+ */
+public interface PasswordHasher {
+
+    /**
+     * Salted hash of the password with the current settings
+     */
+    String hash(String password);
+
+    /**
+     * Whether the password produces the stored hash, compared in constant time
+     */
+    boolean matches(String password, String storedHash);
+
+    /**
+     * Whether the stored hash was made with an older algorithm or a lower cost and should be replaced
+     */
+    boolean needsRehash(String storedHash);
+}
@@ -0,0 +1,155 @@
+package dev.yerassyl.aliyev.security;
+
+import dev.yerassyl.aliyev.constants.ErrorMessages;
+import dev.yerassyl.aliyev.exception.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PBKDF2-HMAC-SHA256 hashes stored as 'pbkdf2-sha256$iterations$salt$hash' (salt and hash in base64).
+ * <p>
+ * Hashing is deliberately slow, so it runs on its own pool of 'threads' workers with a queue of
+ * 'queue-capacity': a login storm waits there or gets 429 instead of tying up every request thread.
+ * The unsalted SHA-256 hex hashes of earlier versions are still accepted and reported as needing a rehash.
+ * Use PasswordHashingBenchmark to pick 'iterations' for the login latency budget.
+ */
+@Slf4j
+@Component
+public class Pbkdf2PasswordHasher implements PasswordHasher {
+
+    static final String ALGORITHM = "pbkdf2-sha256";
+
+    private static final String JCA_ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BYTES = 32;
+    private static final int LEGACY_HEX_LENGTH = 64;
+    private static final Base64.Encoder BASE64 = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_DECODER = Base64.getDecoder();
+
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadPoolExecutor executor;
+
+    public Pbkdf2PasswordHasher(@Value("${app.security.password.iterations}") int iterations,
+                                @Value("${app.security.password.threads}") int threads,
+                                @Value("${app.security.password.queue-capacity}") int queueCapacity) {
+        this.iterations = iterations;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "password-hasher-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = run(() -> pbkdf2(password, salt, iterations));
+        return ALGORITHM + '$' + iterations + '$' + BASE64.encodeToString(salt) + '$' + BASE64.encodeToString(hash);
+    }
+
+    @Override
+    public boolean matches(String password, String storedHash) {
+        if (storedHash == null) {
+            return false;
+        }
+        if (isLegacy(storedHash)) {
+            byte[] expected;
+            try {
+                expected = HexFormat.of().parseHex(storedHash);
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+            return MessageDigest.isEqual(expected, sha256(password));
+        }
+        String[] parts = storedHash.split("\\$");
+        if (parts.length != 4 || !ALGORITHM.equals(parts[0])) {
+            log.warn("Unknown password hash format");
+            return false;
+        }
+        try {
+            int storedIterations = Integer.parseInt(parts[1]);
+            byte[] salt = BASE64_DECODER.decode(parts[2]);
+            byte[] expected = BASE64_DECODER.decode(parts[3]);
+            return MessageDigest.isEqual(expected, run(() -> pbkdf2(password, salt, storedIterations)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Malformed password hash: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean needsRehash(String storedHash) {
+        if (storedHash == null || isLegacy(storedHash)) {
+            return true;
+        }
+        String[] parts = storedHash.split("\\$");
+        try {
+            return parts.length != 4 || !ALGORITHM.equals(parts[0]) || Integer.parseInt(parts[1]) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    // Runs on the hashing pool and waits, the request thread is refused rather than queued without bound
+    private byte[] run(Callable<byte[]> task) {
+        try {
+            return executor.submit(task).get();
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException(ErrorMessages.PASSWORD_HASHING_BUSY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TooManyRequestsException(ErrorMessages.PASSWORD_HASHING_BUSY);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ошибка при обработке пароля", e.getCause());
+        }
+    }
+
+    static byte[] pbkdf2(String password, byte[] salt, int iterations) throws GeneralSecurityException {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BYTES * 8);
+        try {
+            return SecretKeyFactory.getInstance(JCA_ALGORITHM).generateSecret(spec).getEncoded();
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private static boolean isLegacy(String storedHash) {
+        return storedHash.length() == LEGACY_HEX_LENGTH && storedHash.indexOf('$') < 0;
+    }
+
+    private static byte[] sha256(String password) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdown();
+    }
+}
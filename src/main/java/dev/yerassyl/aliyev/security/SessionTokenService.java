@@ -0,0 +1,169 @@
+package dev.yerassyl.aliyev.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Stateless login tokens: base64url(version, userId, expiry) + '.' + base64url(HMAC-SHA256 of those 13 bytes).
+ * <p>
+ * Any replica holding the same 'app.security.token.secret' can check a token without a session store.
+ * Verification decodes into per-thread buffers and reuses a per-thread Mac, so it allocates almost nothing.
+ * Tokens can't be revoked before they expire; logout only drops the cookie.
+ */
+@Slf4j
+@Component
+public class SessionTokenService {
+
+    /**
+     * Response header with the token for clients without cookies, they send it back as "Authorization: Bearer ..."
+     */
+    public static final String TOKEN_HEADER = "X-Auth-Token";
+
+    private static final byte VERSION = 1;
+    private static final int PAYLOAD_BYTES = 1 + Integer.BYTES + Long.BYTES;
+    private static final int SIGNATURE_BYTES = 32;
+    private static final int PAYLOAD_CHARS = 18; // base64url of 13 bytes without padding
+    private static final int SIGNATURE_CHARS = 43;
+    private static final int TOKEN_CHARS = PAYLOAD_CHARS + 1 + SIGNATURE_CHARS;
+    private static final String HMAC = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+    private final ThreadLocal<Mac> macs;
+    private final ThreadLocal<byte[][]> buffers = ThreadLocal.withInitial(
+            () -> new byte[][]{new byte[PAYLOAD_BYTES], new byte[SIGNATURE_BYTES], new byte[SIGNATURE_BYTES]});
+
+    @Autowired
+    public SessionTokenService(@Value("${app.security.token.secret}") String secret,
+                               @Value("${app.security.token.ttl-hours}") long ttlHours) {
+        this(secret, Duration.ofHours(ttlHours), Clock.systemUTC());
+    }
+
+    SessionTokenService(String secret, Duration ttl, Clock clock) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            keyBytes = new byte[SIGNATURE_BYTES];
+            new SecureRandom().nextBytes(keyBytes);
+            log.warn("app.security.token.secret is not set, using a random key: tokens won't be accepted by other replicas or after a restart");
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret.trim());
+            if (keyBytes.length < SIGNATURE_BYTES) {
+                throw new IllegalArgumentException("app.security.token.secret must be at least 32 bytes (base64)");
+            }
+        }
+        this.key = new SecretKeySpec(keyBytes, HMAC);
+        this.ttl = ttl;
+        this.clock = clock;
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    /**
+     * Signed token for the user, valid for 'ttl-hours'
+     */
+    public String issue(int userId) {
+        byte[] payload = ByteBuffer.allocate(PAYLOAD_BYTES)
+                .put(VERSION)
+                .putInt(userId)
+                .putLong(clock.instant().plus(ttl).getEpochSecond())
+                .array();
+        byte[] signature = new byte[SIGNATURE_BYTES];
+        sign(payload, signature);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + '.' + encoder.encodeToString(signature);
+    }
+
+    /**
+     * User id of a valid, unexpired token, null otherwise
+     */
+    public Integer verify(String token) {
+        if (token == null || token.length() != TOKEN_CHARS || token.charAt(PAYLOAD_CHARS) != '.') {
+            return null;
+        }
+        byte[][] buffer = buffers.get();
+        byte[] payload = buffer[0];
+        byte[] signature = buffer[1];
+        byte[] expected = buffer[2];
+        if (!decode(token, 0, PAYLOAD_CHARS, payload) || !decode(token, PAYLOAD_CHARS + 1, TOKEN_CHARS, signature)) {
+            return null;
+        }
+        sign(payload, expected);
+        if (!MessageDigest.isEqual(signature, expected) || payload[0] != VERSION) {
+            return null;
+        }
+        ByteBuffer fields = ByteBuffer.wrap(payload);
+        int userId = fields.getInt(1);
+        long expiresAt = fields.getLong(1 + Integer.BYTES);
+        return clock.instant().getEpochSecond() < expiresAt ? userId : null;
+    }
+
+    public Duration ttl() {
+        return ttl;
+    }
+
+    private void sign(byte[] payload, byte[] signature) {
+        Mac mac = macs.get();
+        try {
+            mac.update(payload);
+            mac.doFinal(signature, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Base64url without padding, straight from the string into the target array
+    private static boolean decode(String token, int from, int to, byte[] target) {
+        int bits = 0;
+        int bitCount = 0;
+        int written = 0;
+        for (int i = from; i < to; i++) {
+            int value = base64UrlValue(token.charAt(i));
+            if (value < 0) {
+                return false;
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                if (written == target.length) {
+                    return false;
+                }
+                target[written++] = (byte) (bits >> bitCount);
+            }
+        }
+        return written == target.length;
+    }
+
+    private static int base64UrlValue(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 26;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 52;
+        }
+        return c == '-' ? 62 : c == '_' ? 63 : -1;
+    }
+}
@@ -0,0 +1,11 @@
+package dev.yerassyl.aliyev.service;
+
+import dev.yerassyl.aliyev.dto.EventImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface EventImportService {
+
+    EventImportResult importEvents(InputStream in) throws IOException; // JSON array or newline delimited JSON
+}
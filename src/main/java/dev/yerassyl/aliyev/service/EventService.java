@@ -1,21 +1,29 @@
 
 package dev.yerassyl.aliyev.service;
 
+import dev.yerassyl.aliyev.dto.EventCursorPage;
+import dev.yerassyl.aliyev.dto.EventView;
 import dev.yerassyl.aliyev.dto.IdEntity;
 import dev.yerassyl.aliyev.dto.SuccessEntity;
 import dev.yerassyl.aliyev.entity.Event;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface EventService {
 
-    List<Event> getEventPagedList(Integer pageNo, Integer pageSize, String sortBy); // Pagination
+    List<EventView> getEventPagedList(Integer pageNo, Integer pageSize, String sortBy); // Pagination
 
-    List<Event> getAllEvents();
+    EventCursorPage getEventCursorPage(String cursor, Integer pageSize, String sortBy); // Keyset pagination
 
-    Event getEvent(Integer id);
+    List<EventView> getAllEvents();
 
-    List<Event> getAvailable(String dateFrom, String dateTo);
+    void writeAllEvents(OutputStream out) throws IOException; // Streaming, newline delimited JSON
+
+    EventView getEvent(Integer id);
+
+    List<EventView> getAvailable(String dateFrom, String dateTo);
 
     IdEntity saveEvent(Event event);
 
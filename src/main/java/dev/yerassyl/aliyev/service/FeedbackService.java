@@ -1,26 +1,39 @@
 package dev.yerassyl.aliyev.service;
 
 import dev.yerassyl.aliyev.dto.FeedbackRequest;
+import dev.yerassyl.aliyev.dto.FeedbackSearchPage;
+import dev.yerassyl.aliyev.feedback.FeedbackQuery;
 
-import java.util.List;
-import java.util.Map;
+import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * Сервис для работы с обратной связью
  */
 public interface FeedbackService {
     /**
-     * Сохранить обратную связь в файл
+     * Принять обратную связь, в файл она записывается асинхронно
      * 
      * @param feedbackRequest запрос с данными обратной связи
      */
     void saveFeedback(FeedbackRequest feedbackRequest);
     
     /**
-     * Получить все сообщения обратной связи
+     * Записать в поток страницу сообщений обратной связи (от новых к старым)
+     * в виде {"content": [...], "nextCursor": "...", "hasNext": true}
      * 
-     * @return список всех сообщений обратной связи
+     * @param query фильтры и курсор страницы
+     * @param out поток ответа
      */
-    List<Map<String, Object>> getAllFeedbacks();
-}
+    void writeFeedbackPage(FeedbackQuery query, OutputStream out) throws IOException;
 
+    /**
+     * Полнотекстовый поиск по теме и тексту сообщений, лучшие совпадения первыми
+     * 
+     * @param query слова для поиска, совпадение по всем словам
+     * @param pageNumber номер страницы
+     * @param pageSize размер страницы
+     * @return страница найденных сообщений
+     */
+    FeedbackSearchPage searchFeedback(String query, int pageNumber, int pageSize) throws IOException;
+}
@@ -1,14 +1,18 @@
 package dev.yerassyl.aliyev.service;
 
 import dev.yerassyl.aliyev.dto.IdEntity;
+import dev.yerassyl.aliyev.dto.ReservationView;
 import dev.yerassyl.aliyev.dto.SuccessEntity;
 import dev.yerassyl.aliyev.entity.Reservation;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ReservationService {
-    List<Reservation> getAllReservations();
-    Reservation getReservation(Integer id);
+    List<ReservationView> getAllReservations();
+    void writeAllReservations(OutputStream out) throws IOException;
+    ReservationView getReservation(Integer id);
     IdEntity saveReservation(Reservation reservations, Integer userId);
     SuccessEntity deleteReservation(Integer id);
     boolean validateEventExistenceById(Integer id);
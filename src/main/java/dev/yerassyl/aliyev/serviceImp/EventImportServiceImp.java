@@ -0,0 +1,241 @@
+package dev.yerassyl.aliyev.serviceImp;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import dev.yerassyl.aliyev.cache.EventAvailabilityIndex;
+import dev.yerassyl.aliyev.constants.AppConstants;
+import dev.yerassyl.aliyev.constants.ErrorMessages;
+import dev.yerassyl.aliyev.dto.EventImportResult;
+import dev.yerassyl.aliyev.entity.DateStringConverter;
+import dev.yerassyl.aliyev.entity.Event;
+import dev.yerassyl.aliyev.exception.InvalidRequestException;
+import dev.yerassyl.aliyev.service.EventImportService;
+import dev.yerassyl.aliyev.validator.EventValidator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk event import: records are read one at a time from the request, validated in parallel one chunk
+ * of 'batch-size' at a time and inserted with JDBC batches, each chunk in its own transaction.
+ * <p>
+ * Events use IDENTITY ids, which keep Hibernate from batching inserts, so the rows are written through
+ * JdbcTemplate.batchUpdate (rewritten into multi-row INSERTs by the Postgres driver with reWriteBatchedInserts).
+ * An invalid record or a failed chunk is reported by row and does not stop the import; chunks committed before
+ * stay imported.
+ */
+@Slf4j
+@Timed(AppConstants.SERVICE_TIMER)
+@Service
+public class EventImportServiceImp implements EventImportService {
+
+    static final String INSERT_EVENT = "INSERT INTO event (name, type, description, available_from, available_to, " +
+            "status, capacity, seats_taken, created_date, last_modified_date) VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader eventReader;
+    private final Validator validator;
+    private final EventAvailabilityIndex availabilityIndex;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public EventImportServiceImp(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper, Validator validator,
+                                 EventAvailabilityIndex availabilityIndex,
+                                 @Value("${app.event.import.batch-size}") int batchSize,
+                                 @Value("${app.event.import.max-errors}") int maxErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventReader = objectMapper.readerFor(Event.class);
+        this.validator = validator;
+        this.availabilityIndex = availabilityIndex;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Imports events given as a JSON array or as newline delimited JSON, id and seatsTaken are ignored
+     *
+     * @param in request body
+     * @return counts and the errors of rejected rows
+     * @throws IOException
+     */
+    @Override
+    @CacheEvict(cacheNames = AppConstants.EVENTS_CACHE, allEntries = true)
+    public EventImportResult importEvents(InputStream in) throws IOException {
+        long start = System.nanoTime();
+        Progress progress = new Progress();
+        List<Event> chunk = new ArrayList<>(batchSize);
+        long chunkStart = 1;
+
+        // A leading '[' is unwrapped by the reader, so arrays and NDJSON take the same path
+        try (MappingIterator<Event> events = eventReader.readValues(in)) {
+            while (true) {
+                Event event = null;
+                String message = null;
+                try {
+                    if (!events.hasNextValue()) {
+                        break;
+                    }
+                    // A literal null is not an event, Jackson would report it as a mapping error
+                    if (events.getParser().currentToken() == JsonToken.VALUE_NULL) {
+                        message = ErrorMessages.EMPTY_IMPORT_RECORD;
+                    }
+                    event = events.nextValue();
+                } catch (JsonParseException e) {
+                    progress.reject(++progress.received, ErrorMessages.MALFORMED_IMPORT);
+                    break;
+                } catch (JsonMappingException e) {
+                    // The iterator skips the rest of the bad record, the next one is read normally
+                    message = message != null ? message : e.getOriginalMessage();
+                }
+                progress.received++;
+                if (event == null) {
+                    progress.reject(progress.received, message != null ? message : ErrorMessages.EMPTY_IMPORT_RECORD);
+                }
+                chunk.add(event);
+                if (chunk.size() == batchSize) {
+                    importChunk(chunk, chunkStart, progress);
+                    chunkStart += chunk.size();
+                    chunk.clear();
+                }
+            }
+        }
+        importChunk(chunk, chunkStart, progress);
+
+        if (progress.imported > 0) {
+            availabilityIndex.eventsChanged();
+        }
+        log.info("Imported {} of {} events in {} ms, {} rejected", progress.imported, progress.received,
+                (System.nanoTime() - start) / 1_000_000, progress.rejected);
+
+        return EventImportResult.builder()
+                .received(progress.received)
+                .imported(progress.imported)
+                .rejected(progress.rejected)
+                .errors(progress.errors)
+                .build();
+    }
+
+    /**
+     * Validates the chunk in parallel and inserts its valid events in one transaction
+     *
+     * @param chunk    records of the chunk, null where the record could not be read (already reported)
+     * @param firstRow row number of the first record
+     */
+    private void importChunk(List<Event> chunk, long firstRow, Progress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        String[] problems = new String[chunk.size()];
+        IntStream.range(0, chunk.size()).parallel()
+                .forEach(i -> problems[i] = chunk.get(i) == null ? null : validate(chunk.get(i)));
+
+        List<Event> valid = new ArrayList<>(chunk.size());
+        List<Long> validRows = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (chunk.get(i) == null) {
+                continue;
+            }
+            if (problems[i] != null) {
+                progress.reject(firstRow + i, problems[i]);
+            } else {
+                valid.add(chunk.get(i));
+                validRows.add(firstRow + i);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(valid));
+            progress.imported += valid.size();
+        } catch (DataAccessException e) {
+            log.error("Event import batch of rows {}..{} failed: {}", validRows.get(0),
+                    validRows.get(validRows.size() - 1), e.getMostSpecificCause().getMessage());
+            for (Long row : validRows) {
+                progress.reject(row, ErrorMessages.IMPORT_BATCH_FAILED + e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private void insert(List<Event> events) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, events.size(), (statement, event) -> {
+            statement.setString(1, event.getName());
+            // Stored by ordinal like the entity mapping
+            statement.setInt(2, event.getType().ordinal());
+            statement.setString(3, event.getDescription());
+            setDate(statement, 4, event.getAvailableFrom());
+            setDate(statement, 5, event.getAvailableTo());
+            statement.setBoolean(6, event.isStatus());
+            statement.setInt(7, event.getCapacity());
+            statement.setTimestamp(8, now);
+            statement.setTimestamp(9, now);
+        });
+    }
+
+    private static void setDate(PreparedStatement statement, int index, String date) throws SQLException {
+        if (date == null) {
+            statement.setNull(index, Types.DATE);
+        } else {
+            statement.setObject(index, DateStringConverter.parse(date), Types.DATE);
+        }
+    }
+
+    /**
+     * Same checks as POST /event, returns the first problem or null
+     */
+    private String validate(Event event) {
+        Set<ConstraintViolation<Event>> violations = validator.validate(event);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        try {
+            EventValidator.validateEventPOST(event);
+            return null;
+        } catch (InvalidRequestException e) {
+            return e.getMessage();
+        }
+    }
+
+    private final class Progress {
+        private long received;
+        private long imported;
+        private long rejected;
+        private final List<EventImportResult.RowError> errors = new ArrayList<>();
+
+        void reject(long row, String message) {
+            rejected++;
+            if (errors.size() < maxErrors) {
+                errors.add(new EventImportResult.RowError(row, message));
+            }
+        }
+    }
+}
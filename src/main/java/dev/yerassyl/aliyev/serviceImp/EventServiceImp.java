@@ -1,35 +1,54 @@
 package dev.yerassyl.aliyev.serviceImp;
 
+import dev.yerassyl.aliyev.cache.EventAvailabilityIndex;
+import dev.yerassyl.aliyev.constants.AppConstants;
 import dev.yerassyl.aliyev.constants.ErrorMessages;
+import dev.yerassyl.aliyev.dto.EventCursorPage;
+import dev.yerassyl.aliyev.dto.EventView;
 import dev.yerassyl.aliyev.dto.IdEntity;
 import dev.yerassyl.aliyev.dto.SuccessEntity;
 import dev.yerassyl.aliyev.entity.Event;
-import dev.yerassyl.aliyev.entity.Reservation;
 import dev.yerassyl.aliyev.exception.InvalidRequestException;
 import dev.yerassyl.aliyev.repository.EventRepository;
 import dev.yerassyl.aliyev.repository.ReservationRepository;
 import dev.yerassyl.aliyev.service.EventService;
+import dev.yerassyl.aliyev.utils.CursorCodec;
+import dev.yerassyl.aliyev.utils.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.validation.Valid;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Event Service that preforms operations regarding Event API Calls
  */
 @Slf4j
+@Timed(AppConstants.SERVICE_TIMER)
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -38,18 +57,41 @@ public class EventServiceImp implements EventService {
     private final EventRepository eventRepository;
     private final ReservationRepository reservationRepository;
     private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final EventAvailabilityIndex availabilityIndex;
     
     @PersistenceContext
     private EntityManager entityManager;
 
     /**
-     * Return all existing Event objects in the database
+     * Return all existing Events in the database as read-only views.
+     * The catalog is cached until the next event write.
      *
-     * @return List<Event>
+     * @return List<EventView>
      */
     @Override
-    public List<Event> getAllEvents() {
-        return eventRepository.findAll();
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = AppConstants.EVENTS_CACHE, key = "'all'")
+    public List<EventView> getAllEvents() {
+        return List.copyOf(eventRepository.findAllViews());
+    }
+
+    /**
+     * Writes all existing Events as newline delimited JSON while they are read from the database.
+     * Rows are fetched in batches as views that never enter the persistence context, so memory does not grow
+     * with the table.
+     *
+     * @param out
+     * @throws IOException
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void writeAllEvents(OutputStream out) throws IOException {
+        try (Stream<EventView> events = eventRepository.streamAll()) {
+            long written = NdjsonWriter.write(events, out, objectMapper,
+                    Integer.parseInt(AppConstants.STREAM_FETCH_SIZE));
+            log.info("Streamed {} events", written);
+        }
     }
 
     /**
@@ -61,44 +103,86 @@ public class EventServiceImp implements EventService {
      * @return
      */
     @Override
-    public List<Event> getEventPagedList(Integer pageNo, Integer pageSize, String sortBy) {
+    @Transactional(readOnly = true)
+    public List<EventView> getEventPagedList(Integer pageNo, Integer pageSize, String sortBy) {
 
         Pageable paging = PageRequest.of(pageNo, pageSize, Sort.Direction.ASC, sortBy);
-        Page<Event> pagedResult = eventRepository.findAll(paging);
+        return eventRepository.findViews(paging);
+    }
 
-        if (pagedResult.hasContent()) {
-            return pagedResult.getContent();
-        } else {
-            return new ArrayList<>();
+    /**
+     * Return existing Events with keyset pagination.
+     * Seeks on (sortBy, id) after the cursor position, so every page costs the same regardless of its depth.
+     *
+     * @param cursor continuation token from the previous page, null for the first page
+     * @param pageSize
+     * @param sortBy
+     * @return
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EventCursorPage getEventCursorPage(String cursor, Integer pageSize, String sortBy) {
+        Sort sort = Sort.by(Sort.Direction.ASC, sortBy);
+        if (!"id".equals(sortBy)) {
+            sort = sort.and(Sort.by(Sort.Direction.ASC, "id"));
+        }
+
+        Window<EventView> window = eventRepository.findAllBy(CursorCodec.decode(sortBy, cursor), sort, Limit.of(pageSize));
+
+        boolean hasNext = window.hasNext() && !window.isEmpty();
+        String nextCursor = hasNext
+                ? CursorCodec.encode(sortBy, positionAfter(window.getContent().get(window.size() - 1), sortBy))
+                : null;
+
+        return EventCursorPage.builder()
+                .content(window.getContent())
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * Keyset position after the view. Window.positionAt reads the keys through the entity metamodel,
+     * which a projection is not part of, so they are taken from the view itself.
+     */
+    private static KeysetScrollPosition positionAfter(EventView last, String sortBy) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if ("name".equals(sortBy)) {
+            keys.put("name", last.name());
         }
+        keys.put("id", last.id());
+        return ScrollPosition.forward(keys);
     }
 
     /**
      * Returns a user specified Event item through the Event id
      *
      * @param id
-     * @return Event
+     * @return EventView
      */
     @Override
-    public Event getEvent(Integer id) {
-        validateEventExistenceById(id);
-        return eventRepository.findById(id).get();
-
-        // Ot without validateEventExistenceById(id);
-        // Optional<Event> event = eventRepository.findById(id);
-        // return event.isPresent() ? event.get() : null;
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = AppConstants.EVENT_CACHE, key = "#id")
+    public EventView getEvent(Integer id) {
+        return eventRepository.findViewById(id).orElseThrow(() -> {
+            log.error("Invalid ID: The entered id = {} does not exist.", id);
+            return new InvalidRequestException(ErrorMessages.INVALID_ID_EXISTENCE);
+        });
     }
 
     /**
-     * Returns all Event objects in the database that are available in between user specified dates
+     * Returns all Event objects that are available in between user specified dates,
+     * answered from the in-memory availability index
      *
      * @param dateFrom
      * @param dateTo
      * @return
      */
     @Override
-    public List<Event> getAvailable(String dateFrom, String dateTo) {
-        return eventRepository.findAllBetweenDates(dateFrom, dateTo);
+    // Без транзакции: индекс сам загружает изменения, и запрос не держит второе соединение из пула
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<EventView> getAvailable(String dateFrom, String dateTo) {
+        return availabilityIndex.find(dateFrom, dateTo);
     }
 
     /**
@@ -108,6 +192,7 @@ public class EventServiceImp implements EventService {
      * @return
      */
     @Override
+    @CacheEvict(cacheNames = AppConstants.EVENTS_CACHE, allEntries = true)
     public IdEntity saveEvent(@Valid Event event) {
         //If dates are empty strings make them null values so that they can be accepted by the database
         if ((!StringUtils.hasText(event.getAvailableFrom())) && (!(StringUtils.hasText(event.getAvailableTo())))) {
@@ -116,6 +201,7 @@ public class EventServiceImp implements EventService {
         }
         
         event = eventRepository.save(event);
+        availabilityIndex.eventsChanged();
 
         IdEntity idEntity = new IdEntity();
         idEntity.setId(event.getId());
@@ -129,6 +215,10 @@ public class EventServiceImp implements EventService {
      * @return
      */
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = AppConstants.EVENT_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = AppConstants.EVENTS_CACHE, allEntries = true)
+    })
     public SuccessEntity deleteEvent(Integer id) {
         validateEventExistenceById(id);
         
@@ -162,6 +252,8 @@ public class EventServiceImp implements EventService {
             log.debug("Could not update event sequence: {}", e.getMessage());
         }
         
+        availabilityIndex.eventsChanged();
+
         SuccessEntity successEntity = new SuccessEntity();
         successEntity.setSuccess(true);
         return successEntity;
@@ -243,11 +335,16 @@ public class EventServiceImp implements EventService {
      * @return
      */
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = AppConstants.EVENT_CACHE, key = "#event.id"),
+            @CacheEvict(cacheNames = AppConstants.EVENTS_CACHE, allEntries = true)
+    })
     public SuccessEntity patchEvent(Event event) {
         validateEventExistenceById(event.getId());
         doesReservationOverlap(event);
         SuccessEntity successEntity = new SuccessEntity();
         event = eventRepository.save(event);
+        availabilityIndex.eventsChanged();
         successEntity.setSuccess(eventRepository.existsById(event.getId()));
         return successEntity;
     }
@@ -260,13 +357,8 @@ public class EventServiceImp implements EventService {
     @Override
     public void doesReservationOverlap(Event event) {
         // Упрощенная версия - так как checkIn/checkOut больше не используются,
-        // просто проверяем, есть ли бронирования для этого события
-        Integer eventId = event.getId();
-        List<Reservation> matchingReservationList = reservationRepository.findAll().stream()
-                .filter(reservations -> reservations.getEventId().equals(eventId))
-                .toList();
-
-        if (matchingReservationList.size() != 0) {
+        // просто проверяем, есть ли бронирования для этого события (один поиск по индексу)
+        if (reservationRepository.existsByEventId(event.getId())) {
             throw new InvalidRequestException(ErrorMessages.INVALID_EVENT_UPDATE);
         }
     }
@@ -1,153 +1,94 @@
 package dev.yerassyl.aliyev.serviceImp;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.yerassyl.aliyev.constants.AppConstants;
 import dev.yerassyl.aliyev.dto.FeedbackRequest;
+import dev.yerassyl.aliyev.dto.FeedbackSearchPage;
+import dev.yerassyl.aliyev.feedback.FeedbackEntry;
+import dev.yerassyl.aliyev.feedback.FeedbackIngestor;
+import dev.yerassyl.aliyev.feedback.FeedbackQuery;
+import dev.yerassyl.aliyev.feedback.FeedbackReader;
+import dev.yerassyl.aliyev.feedback.FeedbackSearchIndex;
 import dev.yerassyl.aliyev.service.FeedbackService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.nio.file.DirectoryStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 /**
  * Реализация сервиса для работы с обратной связью
- * Сохраняет сообщения в JSON файлы в папке feedback/
+ * Сообщения дописываются в NDJSON файлы по дням в папке feedback/ (см. FeedbackLog, FeedbackIngestor)
  */
 @Slf4j
+@Timed(AppConstants.SERVICE_TIMER)
 @Service
+@RequiredArgsConstructor
 public class FeedbackServiceImp implements FeedbackService {
     
-    private static final String FEEDBACK_DIR = "feedback";
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final FeedbackIngestor feedbackIngestor;
+    private final FeedbackReader feedbackReader;
+    private final FeedbackSearchIndex feedbackSearchIndex;
     private final ObjectMapper objectMapper;
     
-    public FeedbackServiceImp() {
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-        // Создаем папку feedback если её нет
-        createFeedbackDirectory();
-    }
-    
     @Override
     public void saveFeedback(FeedbackRequest feedbackRequest) {
-        try {
-            LocalDateTime now = LocalDateTime.now();
-            String dateStr = now.format(DATE_FORMATTER);
-            String filename = String.format("feedback_%s.json", dateStr);
-            Path filePath = Paths.get(FEEDBACK_DIR, filename);
-            
-            // Создаем объект с данными обратной связи
-            Map<String, Object> feedbackData = new HashMap<>();
-            feedbackData.put("timestamp", now.format(DATETIME_FORMATTER));
-            feedbackData.put("name", feedbackRequest.getName());
-            feedbackData.put("email", feedbackRequest.getEmail());
-            feedbackData.put("subject", feedbackRequest.getSubject());
-            feedbackData.put("message", feedbackRequest.getMessage());
-            
-            // Читаем существующие данные или создаем новый список
-            List<Map<String, Object>> feedbackList = new ArrayList<>();
-            if (Files.exists(filePath)) {
-                try {
-                    String content = Files.readString(filePath);
-                    if (!content.trim().isEmpty()) {
-                        feedbackList = objectMapper.readValue(content, 
-                            objectMapper.getTypeFactory().constructCollectionType(List.class, Map.class));
-                    }
-                } catch (Exception e) {
-                    log.warn("Ошибка при чтении файла обратной связи: {}", e.getMessage());
-                    // Если файл поврежден, создаем новый список
-                    feedbackList = new ArrayList<>();
-                }
-            }
-            
-            // Добавляем новую запись
-            feedbackList.add(feedbackData);
-            
-            // Сохраняем в файл
-            String jsonContent = objectMapper.writeValueAsString(feedbackList);
-            Files.writeString(filePath, jsonContent, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
-            
-            log.info("Обратная связь сохранена: {} от {} ({})", 
-                feedbackRequest.getSubject(), 
-                feedbackRequest.getName(), 
-                feedbackRequest.getEmail());
-                
-        } catch (IOException e) {
-            log.error("Ошибка при сохранении обратной связи: {}", e.getMessage(), e);
-            throw new RuntimeException("Не удалось сохранить обратную связь", e);
-        }
+        FeedbackEntry entry = new FeedbackEntry(
+                LocalDateTime.now().format(DATETIME_FORMATTER),
+                feedbackRequest.getName(),
+                feedbackRequest.getEmail(),
+                feedbackRequest.getSubject(),
+                feedbackRequest.getMessage());
+        // Запись на диск выполняет отдельный поток пачками, запрос не ждет диска;
+        // в поисковый индекс сообщение попадает после записи
+        feedbackIngestor.submit(entry);
+
+        log.info("Обратная связь принята: {} от {} ({})",
+            feedbackRequest.getSubject(),
+            feedbackRequest.getName(),
+            feedbackRequest.getEmail());
     }
     
     @Override
-    public List<Map<String, Object>> getAllFeedbacks() {
-        List<Map<String, Object>> allFeedbacks = new ArrayList<>();
-        
-        try {
-            Path dirPath = Paths.get(FEEDBACK_DIR);
-            
-            // Если папка не существует, возвращаем пустой список
-            if (!Files.exists(dirPath)) {
-                log.info("Папка обратной связи не существует: {}", FEEDBACK_DIR);
-                return allFeedbacks;
-            }
-            
-            // Читаем все JSON файлы из папки feedback
-            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dirPath, "feedback_*.json")) {
-                for (Path filePath : stream) {
-                    try {
-                        String content = Files.readString(filePath);
-                        if (!content.trim().isEmpty()) {
-                            List<Map<String, Object>> fileFeedbacks = objectMapper.readValue(content,
-                                objectMapper.getTypeFactory().constructCollectionType(List.class, Map.class));
-                            allFeedbacks.addAll(fileFeedbacks);
-                        }
-                    } catch (Exception e) {
-                        log.warn("Ошибка при чтении файла обратной связи {}: {}", filePath.getFileName(), e.getMessage());
-                    }
-                }
-            }
-            
-            // Сортируем по дате (от новых к старым)
-            allFeedbacks.sort((a, b) -> {
-                String timestampA = (String) a.get("timestamp");
-                String timestampB = (String) b.get("timestamp");
-                if (timestampA == null || timestampB == null) {
-                    return 0;
+    public void writeFeedbackPage(FeedbackQuery query, OutputStream out) throws IOException {
+        // Записи уходят клиенту по мере чтения, страница целиком в памяти не собирается
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("content");
+            FeedbackReader.Page page = feedbackReader.read(query, entry -> {
+                try {
+                    objectMapper.writeValue(generator, entry);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
-                return timestampB.compareTo(timestampA); // Обратный порядок (новые первыми)
             });
-            
-            log.info("Загружено {} сообщений обратной связи", allFeedbacks.size());
-            
-        } catch (IOException e) {
-            log.error("Ошибка при чтении обратной связи: {}", e.getMessage(), e);
+            generator.writeEndArray();
+            generator.writeStringField("nextCursor", page.nextCursor());
+            generator.writeBooleanField("hasNext", page.hasNext());
+            generator.writeEndObject();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-        
-        return allFeedbacks;
     }
-    
-    private void createFeedbackDirectory() {
-        try {
-            Path dirPath = Paths.get(FEEDBACK_DIR);
-            if (!Files.exists(dirPath)) {
-                Files.createDirectories(dirPath);
-                log.info("Создана папка для обратной связи: {}", FEEDBACK_DIR);
-            }
-        } catch (IOException e) {
-            log.error("Ошибка при создании папки для обратной связи: {}", e.getMessage(), e);
-        }
+
+    @Override
+    public FeedbackSearchPage searchFeedback(String query, int pageNumber, int pageSize) throws IOException {
+        FeedbackSearchIndex.Result result = feedbackSearchIndex.search(query, pageNumber, pageSize);
+        return FeedbackSearchPage.builder()
+                .content(result.hits())
+                .total(result.total())
+                .pageNumber(pageNumber)
+                .pageSize(pageSize)
+                .hasNext((long) (pageNumber + 1) * pageSize < result.total())
+                .build();
     }
 }
-
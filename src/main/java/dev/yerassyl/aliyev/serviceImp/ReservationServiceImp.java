@@ -1,9 +1,12 @@
 package dev.yerassyl.aliyev.serviceImp;
 
+import dev.yerassyl.aliyev.cache.EventAvailabilityIndex;
+import dev.yerassyl.aliyev.constants.AppConstants;
 import dev.yerassyl.aliyev.constants.ErrorMessages;
+import dev.yerassyl.aliyev.dto.EventView;
 import dev.yerassyl.aliyev.dto.IdEntity;
+import dev.yerassyl.aliyev.dto.ReservationView;
 import dev.yerassyl.aliyev.dto.SuccessEntity;
-import dev.yerassyl.aliyev.entity.Event;
 import dev.yerassyl.aliyev.entity.Reservation;
 import dev.yerassyl.aliyev.exception.InvalidRequestException;
 import dev.yerassyl.aliyev.entity.User;
@@ -11,34 +14,90 @@ import dev.yerassyl.aliyev.repository.EventRepository;
 import dev.yerassyl.aliyev.repository.ReservationRepository;
 import dev.yerassyl.aliyev.repository.UserRepository;
 import dev.yerassyl.aliyev.service.ReservationService;
-import lombok.RequiredArgsConstructor;
+import dev.yerassyl.aliyev.utils.EpochDays;
+import dev.yerassyl.aliyev.utils.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
-import jakarta.transaction.Transactional;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Reservation Service tha performs operations regarding Reservation API Calls
+ * <p>
+ * Metrics: reservation.bookings{outcome=success|duplicate|full|inactive|missing_event}.
  */
 @Slf4j
+@Timed(AppConstants.SERVICE_TIMER)
 @Transactional
-@RequiredArgsConstructor
 @Service
 public class ReservationServiceImp implements ReservationService {
     private final ReservationRepository reservationRepository;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final EventAvailabilityIndex availabilityIndex;
+    private final Counter booked;
+    private final Counter duplicates;
+    private final Counter fullEvents;
+    private final Counter inactiveEvents;
+    private final Counter missingEvents;
+
+    public ReservationServiceImp(ReservationRepository reservationRepository, EventRepository eventRepository,
+                                 UserRepository userRepository, ObjectMapper objectMapper,
+                                 EventAvailabilityIndex availabilityIndex, MeterRegistry meterRegistry) {
+        this.reservationRepository = reservationRepository;
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.availabilityIndex = availabilityIndex;
+        this.booked = bookings(meterRegistry, "success");
+        this.duplicates = bookings(meterRegistry, "duplicate");
+        this.fullEvents = bookings(meterRegistry, "full");
+        this.inactiveEvents = bookings(meterRegistry, "inactive");
+        this.missingEvents = bookings(meterRegistry, "missing_event");
+    }
+
+    private static Counter bookings(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("reservation.bookings")
+                .description("Booking attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 
     /**
-     * Returns all existing Reservation objects in the database
+     * Returns all existing Reservations in the database as read-only views
      * @return
      */
     @Override
-    public List<Reservation> getAllReservations() {
-        return reservationRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<ReservationView> getAllReservations() {
+        return reservationRepository.findAllViews();
+    }
+
+    /**
+     * Writes all existing Reservations as newline delimited JSON while they are read from the database
+     * @param out
+     * @throws IOException
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void writeAllReservations(OutputStream out) throws IOException {
+        try (Stream<ReservationView> reservations = reservationRepository.streamAll()) {
+            long written = NdjsonWriter.write(reservations, out, objectMapper,
+                    Integer.parseInt(AppConstants.STREAM_FETCH_SIZE));
+            log.info("Streamed {} reservations", written);
+        }
     }
 
     /**
@@ -47,9 +106,10 @@ public class ReservationServiceImp implements ReservationService {
      * @return
      */
     @Override
-    public Reservation getReservation(Integer id) {
-        validateReservationExistence(id);
-        return reservationRepository.findById(id).get();
+    @Transactional(readOnly = true)
+    public ReservationView getReservation(Integer id) {
+        return reservationRepository.findViewById(id)
+                .orElseThrow(() -> new InvalidRequestException(ErrorMessages.INVALID_ID_EXISTENCE));
     }
 
     /**
@@ -59,6 +119,10 @@ public class ReservationServiceImp implements ReservationService {
      * @return
      */
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = AppConstants.EVENT_CACHE, key = "#reservations.eventId"),
+            @CacheEvict(cacheNames = AppConstants.EVENTS_CACHE, allEntries = true)
+    })
     public IdEntity saveReservation(Reservation reservations, Integer userId) {
         Integer reservationsInventoryId = reservations.getEventId();
 
@@ -66,44 +130,56 @@ public class ReservationServiceImp implements ReservationService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new InvalidRequestException("Пользователь не найден"));
 
-        //boolean to determine if the Reservation is valid through the existence of the inventory ID.
-        //if the inventory ID exists, then continue
-        if (validateEventExistenceById(reservationsInventoryId)) {
-            // Упрощенная логика - просто сохраняем бронирование
-            // Проверяем только, что событие существует и активно
-            Event event = eventRepository.getById(reservations.getEventId());
-            if (!event.isStatus()) {
-                throw new InvalidRequestException("Событие неактивно. Невозможно создать бронирование.");
-            }
-            
-            // Проверяем, не превышен ли лимит мест (100)
-            long currentReservations = reservationRepository.findAll().stream()
-                    .filter(r -> r.getEventId().equals(reservations.getEventId()))
-                    .count();
-            if (currentReservations >= 100) {
-                throw new InvalidRequestException("Все места заняты. Невозможно создать бронирование.");
-            }
-            
-            // Проверяем, не зарегистрирован ли уже этот пользователь на это событие
-            // Используем studentId пользователя для проверки
-            boolean alreadyRegistered = reservationRepository.findAll().stream()
-                    .anyMatch(r -> r.getEventId().equals(reservations.getEventId()) 
-                            && user.getStudentId().equals(r.getCheckIn()));
-            if (alreadyRegistered) {
-                throw new InvalidRequestException("Вы уже зарегистрированы на это событие. Один аккаунт может зарегистрироваться только один раз на каждое событие.");
-            }
-            
-            // Устанавливаем checkIn как studentId пользователя
-            reservations.setCheckIn(user.getStudentId());
-            
-            Reservation savedReservation = reservationRepository.save(reservations);
-            IdEntity idEntity = new IdEntity();
-            idEntity.setId(savedReservation.getId());
-            return idEntity;
-        } else {
-            //Throw error if the Inventory ID does not exist
-            throw new InvalidRequestException(ErrorMessages.INVALID_EVENT_IN_RESERVATION);
+        // Проверяем, не зарегистрирован ли уже этот пользователь на это событие
+        // Используем studentId пользователя для проверки
+        if (reservationRepository.existsByEventIdAndStudentId(reservationsInventoryId, user.getStudentId())) {
+            duplicates.increment();
+            throw new InvalidRequestException(ErrorMessages.ALREADY_REGISTERED);
         }
+
+        // Устанавливаем checkIn как studentId пользователя
+        reservations.setCheckIn(user.getStudentId());
+
+        // The unique (event_id, check_in) constraint settles parallel bookings of the same student
+        Reservation savedReservation;
+        try {
+            savedReservation = reservationRepository.saveAndFlush(reservations);
+        } catch (DataIntegrityViolationException e) {
+            duplicates.increment();
+            throw new InvalidRequestException(ErrorMessages.ALREADY_REGISTERED);
+        }
+
+        // Seat is claimed last so the event row lock is held only until commit.
+        // Throwing rolls back the reservation inserted above.
+        if (eventRepository.claimSeat(reservationsInventoryId) == 0) {
+            throw new InvalidRequestException(rejectionReason(reservationsInventoryId));
+        }
+        availabilityIndex.seatsChanged(reservationsInventoryId);
+        booked.increment();
+
+        IdEntity idEntity = new IdEntity();
+        idEntity.setId(savedReservation.getId());
+        return idEntity;
+    }
+
+    /**
+     * Explains why a seat could not be claimed for the event and counts the outcome
+     *
+     * @param eventId
+     * @return error message
+     */
+    private String rejectionReason(Integer eventId) {
+        EventView event = eventRepository.findViewById(eventId).orElse(null);
+        if (event == null) {
+            missingEvents.increment();
+            return ErrorMessages.INVALID_EVENT_IN_RESERVATION;
+        }
+        if (!event.status()) {
+            inactiveEvents.increment();
+            return ErrorMessages.EVENT_INACTIVE;
+        }
+        fullEvents.increment();
+        return ErrorMessages.EVENT_FULL;
     }
 
     /**
@@ -113,9 +189,16 @@ public class ReservationServiceImp implements ReservationService {
      * @return
      */
     @Override
+    @CacheEvict(cacheNames = {AppConstants.EVENT_CACHE, AppConstants.EVENTS_CACHE}, allEntries = true)
     public SuccessEntity deleteReservation(Integer id) {
         validateReservationExistence(id);
-        reservationRepository.deleteById(id);
+        Reservation reservation = reservationRepository.findById(id).get();
+        reservationRepository.delete(reservation);
+
+        // Освобождаем место в счетчике события
+        eventRepository.releaseSeat(reservation.getEventId());
+        availabilityIndex.seatsChanged(reservation.getEventId());
+
         SuccessEntity successEntity = new SuccessEntity();
         successEntity.setSuccess(!reservationRepository.existsById(id));
         return successEntity;
@@ -144,12 +227,12 @@ public class ReservationServiceImp implements ReservationService {
      */
     @Override
     public boolean dateIsBefore(String date1, String date2) {
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd");
-        try {
-            return simpleDateFormat.parse(date1).before(simpleDateFormat.parse(date2));
-        } catch (ParseException e) {
+        int day1 = EpochDays.parse(date1);
+        int day2 = EpochDays.parse(date2);
+        if (day1 == EpochDays.INVALID || day2 == EpochDays.INVALID) {
             throw new InvalidRequestException(ErrorMessages.PARSE_ERROR);
         }
+        return day1 < day2;
     }
 
     /**
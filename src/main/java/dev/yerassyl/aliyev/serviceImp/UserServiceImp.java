@@ -1,31 +1,44 @@
 package dev.yerassyl.aliyev.serviceImp;
 
+import dev.yerassyl.aliyev.constants.AppConstants;
 import dev.yerassyl.aliyev.constants.ErrorMessages;
 import dev.yerassyl.aliyev.dto.LoginRequest;
 import dev.yerassyl.aliyev.dto.RegisterRequest;
+import dev.yerassyl.aliyev.dto.UserCredentials;
 import dev.yerassyl.aliyev.dto.UserResponse;
 import dev.yerassyl.aliyev.entity.User;
 import dev.yerassyl.aliyev.exception.InvalidRequestException;
 import dev.yerassyl.aliyev.repository.UserRepository;
+import dev.yerassyl.aliyev.security.PasswordHasher;
 import dev.yerassyl.aliyev.service.UserService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
 
 @Slf4j
+@Timed(AppConstants.SERVICE_TIMER)
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class UserServiceImp implements UserService {
 
     private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
 
+    // Hash with the current cost, checked when the studentId is unknown so that case takes as long as a wrong password
+    private volatile String dummyHash;
+
+    // Хеширование пароля занимает десятки миллисекунд, соединение с базой на это время не держим
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @CacheEvict(cacheNames = AppConstants.USER_CREDENTIALS_CACHE, key = "#request.studentId")
     public UserResponse register(RegisterRequest request) {
         // Проверяем, не существует ли уже пользователь с таким studentId
         if (userRepository.existsByStudentId(request.getStudentId())) {
@@ -38,7 +51,7 @@ public class UserServiceImp implements UserService {
                 .studentId(request.getStudentId())
                 .name(request.getName())
                 .surname(request.getSurname())
-                .password(hashPassword(request.getPassword()))
+                .password(passwordHasher.hash(request.getPassword()))
                 .build();
 
         user = userRepository.save(user);
@@ -53,31 +66,46 @@ public class UserServiceImp implements UserService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserResponse login(LoginRequest request) {
-        User user = userRepository.findByStudentId(request.getStudentId())
+        // Повторный вход берет данные пользователя из кэша, без запроса к базе
+        UserCredentials user = userRepository.findCredentialsByStudentId(request.getStudentId())
                 .orElseThrow(() -> {
                     log.error("User with studentId {} not found", request.getStudentId());
+                    // Хешируем впустую, иначе по времени ответа видно, существует ли такой ID
+                    passwordHasher.matches(request.getPassword(), dummyHash());
                     return new InvalidRequestException("Неверный ID студента или пароль");
                 });
 
         // Проверяем пароль
-        String hashedPassword = hashPassword(request.getPassword());
-        if (!user.getPassword().equals(hashedPassword)) {
+        if (!passwordHasher.matches(request.getPassword(), user.password())) {
             log.error("Invalid password for user with studentId: {}", request.getStudentId());
             throw new InvalidRequestException("Неверный ID студента или пароль");
         }
 
-        log.info("User logged in successfully with studentId: {}", user.getStudentId());
+        // Старый SHA-256 хеш или хеш с меньшей стоимостью заменяем, пока известен пароль
+        if (passwordHasher.needsRehash(user.password())) {
+            userRepository.updatePassword(user.studentId(), passwordHasher.hash(request.getPassword()));
+            log.info("Password hash upgraded for user with studentId: {}", user.studentId());
+        }
 
-        return UserResponse.builder()
-                .id(user.getId())
-                .studentId(user.getStudentId())
-                .name(user.getName())
-                .surname(user.getSurname())
-                .build();
+        log.info("User logged in successfully with studentId: {}", user.studentId());
+
+        return user.toResponse();
+    }
+
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordHasher.hash(UUID.randomUUID().toString());
+            dummyHash = hash;
+        }
+        return hash;
     }
 
+    // Фронтенд опрашивает /user/current постоянно, имя и фамилия пользователя не меняются
     @Override
+    @Cacheable(cacheNames = AppConstants.USER_CACHE, key = "#userId")
     public UserResponse getCurrentUser(Integer userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> {
@@ -92,28 +120,4 @@ public class UserServiceImp implements UserService {
                 .surname(user.getSurname())
                 .build();
     }
-
-    /**
-     * Хеширует пароль используя SHA-256
-     * В продакшене лучше использовать BCrypt
-     */
-    private String hashPassword(String password) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(password.getBytes(StandardCharsets.UTF_8));
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            log.error("Error hashing password", e);
-            throw new RuntimeException("Ошибка при обработке пароля");
-        }
-    }
 }
-
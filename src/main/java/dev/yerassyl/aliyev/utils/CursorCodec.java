@@ -0,0 +1,74 @@
+package dev.yerassyl.aliyev.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.yerassyl.aliyev.constants.ErrorMessages;
+import dev.yerassyl.aliyev.exception.InvalidRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Encodes keyset scroll positions as opaque URL-safe continuation tokens.
+ * The token carries the sort key it was issued for, so it can't be replayed against another ordering.
+ * Keys are checked on decode: exactly the sort field plus the id tiebreaker, the id an Integer and any other key
+ * a String, so a tampered token fails as INVALID_CURSOR rather than in the query.
+ */
+public final class CursorCodec {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String SORT_FIELD = "s";
+    private static final String KEYS_FIELD = "k";
+    private static final String ID = "id";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(String sortBy, KeysetScrollPosition position) {
+        Map<String, Object> token = new LinkedHashMap<>();
+        token.put(SORT_FIELD, sortBy);
+        token.put(KEYS_FIELD, position.getKeys());
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(OBJECT_MAPPER.writeValueAsBytes(token));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    /**
+     * @return the position to continue from, or the initial position when no cursor is given
+     */
+    public static KeysetScrollPosition decode(String sortBy, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            Map<String, Object> token = OBJECT_MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), new TypeReference<>() {
+            });
+            Set<String> expectedKeys = ID.equals(sortBy) ? Set.of(ID) : Set.of(sortBy, ID);
+            if (!sortBy.equals(token.get(SORT_FIELD)) || !(token.get(KEYS_FIELD) instanceof Map<?, ?> keys)
+                    || !keys.keySet().equals(expectedKeys)) {
+                throw new InvalidRequestException(ErrorMessages.INVALID_CURSOR);
+            }
+            Map<String, Object> typedKeys = new LinkedHashMap<>();
+            typedKeys.put(sortBy, checkedKey(sortBy, keys.get(sortBy)));
+            typedKeys.put(ID, checkedKey(ID, keys.get(ID)));
+            return ScrollPosition.forward(typedKeys);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidRequestException(ErrorMessages.INVALID_CURSOR);
+        }
+    }
+
+    // Jackson reads small numbers as Integer and larger ones as Long, only ids that fit an Integer are valid
+    private static Object checkedKey(String name, Object value) {
+        if (ID.equals(name) ? value instanceof Integer : value instanceof String) {
+            return value;
+        }
+        throw new InvalidRequestException(ErrorMessages.INVALID_CURSOR);
+    }
+}
@@ -0,0 +1,94 @@
+package dev.yerassyl.aliyev.utils;
+
+/**
+ * Allocation free parser of 'yyyy-MM-dd' dates into epoch days (days since 1970-01-01).
+ * Stateless and therefore safe to share between threads, unlike SimpleDateFormat.
+ * Month and day may have one or two digits, the date must exist in the calendar and nothing may follow it.
+ */
+public final class EpochDays {
+
+    /**
+     * Returned by parse for anything that is not a valid date
+     */
+    public static final int INVALID = Integer.MIN_VALUE;
+
+    private static final int DAYS_0000_TO_1970 = 719_528;
+
+    private EpochDays() {
+    }
+
+    /**
+     * @param date text to parse, may be null
+     * @return epoch day of the date or INVALID
+     */
+    public static int parse(CharSequence date) {
+        if (date == null) {
+            return INVALID;
+        }
+        int length = date.length();
+        if (length < 8 || length > 10) {
+            return INVALID;
+        }
+        int year = digits(date, 0, 4);
+        if (year < 0 || date.charAt(4) != '-') {
+            return INVALID;
+        }
+
+        int monthEnd = date.charAt(6) == '-' ? 6 : 7;
+        if (monthEnd >= length || date.charAt(monthEnd) != '-') {
+            return INVALID;
+        }
+        int month = digits(date, 5, monthEnd);
+        int day = digits(date, monthEnd + 1, length);
+        if (month < 1 || month > 12 || day < 1 || length - monthEnd - 1 > 2 || day > lengthOfMonth(year, month)) {
+            return INVALID;
+        }
+        return toEpochDay(year, month, day);
+    }
+
+    public static boolean isValid(CharSequence date) {
+        return parse(date) != INVALID;
+    }
+
+    // Value of the decimal digits in [from, to), -1 if any character is not a digit
+    private static int digits(CharSequence text, int from, int to) {
+        if (from >= to) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    // Same arithmetic as LocalDate.toEpochDay, for years 0000-9999
+    private static int toEpochDay(int year, int month, int day) {
+        int total = 365 * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+}
@@ -0,0 +1,49 @@
+package dev.yerassyl.aliyev.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of objects as newline delimited JSON, one object per line, without collecting them first
+ */
+public final class NdjsonWriter {
+
+    private NdjsonWriter() {
+    }
+
+    /**
+     * @param items      objects to write, consumed lazily
+     * @param out        target stream, left open
+     * @param flushEvery number of lines after which the output is flushed to the client
+     * @return number of lines written
+     */
+    public static <T> long write(Stream<T> items, OutputStream out, ObjectMapper objectMapper,
+                                 int flushEvery) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            Iterator<T> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                T item = iterator.next();
+                writer.writeValue(generator, item);
+                if (++count % flushEvery == 0) {
+                    generator.flush();
+                }
+            }
+            if (count > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        return count;
+    }
+}
@@ -2,12 +2,9 @@ package dev.yerassyl.aliyev.validator;
 
 import dev.yerassyl.aliyev.constants.ErrorMessages;
 import dev.yerassyl.aliyev.exception.InvalidRequestException;
+import dev.yerassyl.aliyev.utils.EpochDays;
 import lombok.extern.slf4j.Slf4j;
 
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-
 import static dev.yerassyl.aliyev.constants.ErrorMessages.*;
 
 /**
@@ -16,9 +13,6 @@ import static dev.yerassyl.aliyev.constants.ErrorMessages.*;
 @Slf4j
 public class BaseValidator {
 
-    private static final String VALID_DATE_FORMAT = "yyyy-MM-dd";
-    private static final DateFormat simpleDateFormat = new SimpleDateFormat(VALID_DATE_FORMAT);
-
     /**
      * Validator for the Event id
      *
@@ -37,15 +31,23 @@ public class BaseValidator {
      * @return
      */
     public static boolean validateDateFormat(String date) {
-        simpleDateFormat.setLenient(false);
-        try {
-            simpleDateFormat.parse(date);
-        } catch (ParseException e) {
+        parseDate(date);
+        return true;
+    }
+
+    /**
+     * Parses a date in 'yyyy-MM-dd' format, thread safe and without allocation
+     *
+     * @param date
+     * @return days since 1970-01-01
+     */
+    public static int parseDate(String date) {
+        int epochDay = EpochDays.parse(date);
+        if (epochDay == EpochDays.INVALID) {
             log.error("Invalid date format: '{}', please input dates in 'yyyy-MM-dd' format.", date);
             throw new InvalidRequestException(INVALID_DATE);
-            // return false;
         }
-        return true;
+        return epochDay;
     }
 
     /**
@@ -59,18 +61,10 @@ public class BaseValidator {
         if (startDate == null || endDate == null) {
             throw new InvalidRequestException(INVALID_DATE_NULL_VALUES);
         }
-        if (validateDateFormat(startDate) && validateDateFormat(endDate)) {
-            try {
-                if (simpleDateFormat.parse(startDate).after(simpleDateFormat.parse(endDate))) {
-                    log.error("Start date: '{}' mus be before end date: '{}'.", startDate, endDate);
-                    throw new InvalidRequestException(INVALID_DATE_ORDER);
-                }
-            } catch (ParseException e) {
-                log.debug("Invalid date comparison.");
-            }
-        } else {
-            log.error("Invalid date: Please input dates in 'yyyy-MM-dd' format.");
-            throw new InvalidRequestException(INVALID_DATE);
+        // Each date is parsed once, straight to a comparable day number
+        if (parseDate(startDate) > parseDate(endDate)) {
+            log.error("Start date: '{}' mus be before end date: '{}'.", startDate, endDate);
+            throw new InvalidRequestException(INVALID_DATE_ORDER);
         }
     }
 }
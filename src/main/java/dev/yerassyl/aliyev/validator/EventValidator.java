@@ -21,6 +21,7 @@ public class EventValidator extends BaseValidator {
         validateName(event.getName());
         validateType(event.getType());
         validateDates(event.getAvailableFrom(), event.getAvailableTo());
+        validateCapacity(event.getCapacity());
     }
 
     /**
@@ -33,6 +34,7 @@ public class EventValidator extends BaseValidator {
         validateName(event.getName());
         validateType(event.getType());
         validateDates(event.getAvailableFrom(), event.getAvailableTo());
+        validateCapacity(event.getCapacity());
     }
 
     /**
@@ -59,4 +61,16 @@ public class EventValidator extends BaseValidator {
         }
     }
 
+    /**
+     * Validator for the Event capacity, an event without seats could never be booked
+     *
+     * @param capacity
+     */
+    public static void validateCapacity(Integer capacity) {
+        if (capacity == null || capacity <= 0) {
+            log.error("The capacity parameter: '{}' is invalid, must be greater than zero", capacity);
+            throw new InvalidRequestException(ErrorMessages.INVALID_CAPACITY);
+        }
+    }
+
 }
@@ -20,4 +20,16 @@ public class PageNumberAndSizeValidator {
             throw new InvalidRequestException(MAX_PAGE_SIZE_EXCEPTION);
         }
     }
+
+    public static void validateFeedbackPageSize(int size) {
+        if (size < 1 || size > Integer.parseInt(AppConstants.MAX_FEEDBACK_PAGE_SIZE)) {
+            throw new InvalidRequestException(INVALID_FEEDBACK_PAGE_SIZE);
+        }
+    }
+
+    public static void validateCursorSortBy(String sortBy) {
+        if (!AppConstants.CURSOR_SORTING_PARAMS.contains(sortBy)) {
+            throw new InvalidRequestException(INVALID_SORT_PARAM);
+        }
+    }
 }
@@ -43,7 +43,7 @@ async function createReservation(reservationData) {
             headers: {
                 'Content-Type': 'application/json',
             },
-            credentials: 'include', // Важно для отправки сессии
+            credentials: 'include', // Важно для отправки cookie с токеном входа
             body: JSON.stringify(reservationData)
         });
         if (!response.ok) {
@@ -148,7 +148,7 @@ function transformEvent(event) {
         price: 'Бесплатно', // Можно добавить поле price в Event если нужно
         image: imageUrl,
         booked: 0, // Будет обновлено после загрузки бронирований
-        total: 100, // Можно добавить поле total в Event если нужно
+        total: event.capacity ?? 100,
         status: event.status,
         availableFrom: event.availableFrom,
         availableTo: event.availableTo
@@ -377,7 +377,7 @@ if (bookingForm) {
 
         try {
             // Создаем бронирование через API
-            // checkIn будет установлен на бэкенде из userId сессии
+            // checkIn будет установлен на бэкенде из userId токена входа
             const reservationData = {
                 eventId: currentEventId,
                 status: true
@@ -0,0 +1,60 @@
+package dev.yerassyl.aliyev;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The Prometheus scrape carries request and service timers with histogram buckets and the application meters
+ */
+// Tests get no metrics exporters unless asked for
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("h2")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:metricsEndpoint;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.feedback.dir=target/metrics-feedback"
+})
+class MetricsEndpointTest {
+
+    @LocalServerPort
+    int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void prometheusScrape_exposesLatencyAndApplicationMeters() throws Exception {
+        assertEquals(200, get("/api/v1/event/1").statusCode());
+
+        HttpResponse<String> scrape = get("/actuator/prometheus");
+        assertEquals(200, scrape.statusCode());
+        String metrics = scrape.body();
+
+        assertTrue(metrics.contains("http_server_requests_seconds_bucket{"), "request histogram");
+        assertTrue(metrics.contains("uri=\"/api/v1/event/{id}\""), "requests tagged by endpoint");
+        assertTrue(metrics.contains("service_calls_seconds_bucket{"), "service histogram");
+        assertTrue(metrics.contains("class=\"dev.yerassyl.aliyev.serviceImp.EventServiceImp\""), "service class tag");
+        assertTrue(metrics.contains("reservation_bookings_total{"), "booking outcomes");
+        assertTrue(metrics.contains("outcome=\"inactive\""), "booking outcomes registered before the first booking");
+        assertTrue(metrics.contains("hikaricp_connections_active{"), "connection pool");
+        assertTrue(metrics.contains("hibernate_query_executions_total{"), "hibernate statistics");
+        assertTrue(metrics.contains("feedback_queue_pending{"), "feedback queue");
+        assertTrue(metrics.contains("feedback_files_size_bytes{"), "feedback files");
+        assertTrue(metrics.contains("cache_hit_ratio{") && metrics.contains("cache=\"event\""), "cache hit ratio");
+    }
+}
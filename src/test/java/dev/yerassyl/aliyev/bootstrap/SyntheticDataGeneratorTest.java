@@ -0,0 +1,93 @@
+package dev.yerassyl.aliyev.bootstrap;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing the synthetic dataset of the datagen profile on a small scale
+ */
+@ActiveProfiles({"h2", "datagen"})
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:datagen;DB_CLOSE_DELAY=-1",
+        "app.datagen.events=200",
+        "app.datagen.users=300",
+        "app.datagen.reservations=3000",
+        "app.datagen.batch-size=128",
+        "app.datagen.threads=3"
+})
+class SyntheticDataGeneratorTest {
+
+    @Autowired
+    SyntheticDataGenerator generator;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private long generatedReservations() {
+        return count("SELECT COUNT(*) FROM reservation WHERE check_in LIKE 'gen-%'");
+    }
+
+    @Test
+    void generatesSkewedDatasetWithConsistentSeatCounters() {
+        long reservations = generatedReservations();
+        assertEquals(200, count("SELECT COUNT(*) FROM event WHERE name LIKE 'Datagen Event %'"));
+        assertEquals(300, count("SELECT COUNT(*) FROM user_table WHERE student_id LIKE 'gen-%'"));
+        assertEquals(generator.planReservations().length, reservations);
+        assertTrue(reservations > 2900, "only " + reservations + " distinct reservations");
+
+        // seats_taken matches the reservations and never exceeds the capacity
+        assertEquals(0, count("SELECT COUNT(*) FROM event e WHERE e.name LIKE 'Datagen Event %' AND (e.seats_taken > e.capacity " +
+                "OR e.seats_taken <> (SELECT COUNT(*) FROM reservation r WHERE r.event_id = e.id))"));
+
+        // 2 hot events out of 200 are booked far above the average (at most once per student)
+        List<Long> seats = jdbcTemplate.queryForList(
+                "SELECT seats_taken FROM event WHERE name LIKE 'Datagen Event %' ORDER BY seats_taken DESC", Long.class);
+        assertTrue(seats.get(1) > 10 * reservations / 200, "hot events have " + seats.subList(0, 2));
+
+        // The first student books far more often than the average one
+        long topStudent = count("SELECT COUNT(*) FROM reservation WHERE check_in = 'gen-0'");
+        assertTrue(topStudent > 5 * reservations / 300, "top student has " + topStudent);
+    }
+
+    @Test
+    void rerun_keepsCompleteTablesAndRepairsIncompleteOnes() throws Exception {
+        long reservations = generatedReservations();
+        long maxEventId = count("SELECT MAX(id) FROM event");
+        long maxUserId = count("SELECT MAX(id) FROM user_table");
+
+        generator.run();
+
+        assertEquals(reservations, generatedReservations());
+        assertEquals(maxEventId, count("SELECT MAX(id) FROM event"));
+        assertEquals(maxUserId, count("SELECT MAX(id) FROM user_table"));
+
+        // An interrupted run left only part of the reservations
+        jdbcTemplate.update("DELETE FROM reservation WHERE check_in LIKE 'gen-1%'");
+        generator.run();
+
+        assertEquals(reservations, generatedReservations());
+        assertEquals(maxEventId, count("SELECT MAX(id) FROM event"));
+        assertEquals(0, count("SELECT COUNT(*) FROM event e WHERE e.name LIKE 'Datagen Event %' " +
+                "AND e.seats_taken <> (SELECT COUNT(*) FROM reservation r WHERE r.event_id = e.id)"));
+        // Counters out of step with the reservations (other settings, manual edits) are rewritten with them
+        jdbcTemplate.update("UPDATE event SET seats_taken = 0 WHERE name LIKE 'Datagen Event %'");
+        jdbcTemplate.update("DELETE FROM reservation WHERE check_in = 'gen-0'");
+        generator.run();
+
+        assertEquals(reservations, generatedReservations());
+        assertEquals(maxEventId, count("SELECT MAX(id) FROM event"));
+        assertEquals(0, count("SELECT COUNT(*) FROM event e WHERE e.name LIKE 'Datagen Event %' " +
+                "AND e.seats_taken <> (SELECT COUNT(*) FROM reservation r WHERE r.event_id = e.id)"));
+    }
+}
@@ -0,0 +1,79 @@
+package dev.yerassyl.aliyev.cache;
+
+import dev.yerassyl.aliyev.EventReservationApiApplication;
+import dev.yerassyl.aliyev.entity.Event;
+import dev.yerassyl.aliyev.entity.ValidTypesOfHotelsEnum;
+import dev.yerassyl.aliyev.service.EventService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two application contexts in one JVM share an H2 database, like two replicas share Postgres.
+ * A write on one node must evict the cached entries of the other node.
+ */
+class ClusterCacheInvalidationTest {
+
+    static ConfigurableApplicationContext nodeA;
+    static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    void patchOnOneNode_evictsEventOnOtherNode() {
+        EventService serviceA = nodeA.getBean(EventService.class);
+        EventService serviceB = nodeB.getBean(EventService.class);
+
+        Integer id = serviceA.saveEvent(newEvent("Replicated Event")).getId();
+        assertEquals("Replicated Event", serviceB.getEvent(id).name());
+        int catalogSize = serviceB.getAllEvents().size();
+
+        Event patch = newEvent("Replicated Event v2");
+        patch.setId(id);
+        serviceA.patchEvent(patch);
+
+        assertEquals("Replicated Event v2", serviceB.getEvent(id).name());
+        assertEquals("Replicated Event v2", serviceB.getAllEvents().stream()
+                .filter(event -> event.id().equals(id)).findFirst().get().name());
+
+        serviceA.deleteEvent(id);
+        assertEquals(catalogSize - 1, serviceB.getAllEvents().size());
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(EventReservationApiApplication.class)
+                .profiles("h2")
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:clusterCache;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "spring.jpa.show-sql=false")
+                .run();
+    }
+
+    private static Event newEvent(String name) {
+        return Event.builder()
+                .name(name)
+                .description("Cluster cache test")
+                .availableFrom("2024-01-01")
+                .availableTo("2024-12-31")
+                .type(ValidTypesOfHotelsEnum.CONFERENCE)
+                .status(true)
+                .build();
+    }
+}
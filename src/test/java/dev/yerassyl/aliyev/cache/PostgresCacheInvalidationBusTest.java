@@ -0,0 +1,95 @@
+package dev.yerassyl.aliyev.cache;
+
+import dev.yerassyl.aliyev.repository.EventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.springframework.cache.Cache;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testing the listener of the postgres bus against mocked connections: a dropped connection loses
+ * the NOTIFY sent meanwhile, so a reconnect must clear the local caches and the availability index
+ */
+class PostgresCacheInvalidationBusTest {
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicBoolean dropConnection = new AtomicBoolean();
+    private final PostgresCacheInvalidationBus bus = new PostgresCacheInvalidationBus(null, null, "cache_invalidation", 10) {
+        @Override
+        protected Connection connect() throws SQLException {
+            return listeningConnection(connections.incrementAndGet() == 1);
+        }
+    };
+
+    @AfterEach
+    void stopBus() {
+        bus.stop();
+    }
+
+    @Test
+    void reconnect_clearsCachesAndRebuildsAvailabilityIndex() throws Exception {
+        ClusterCaffeineCacheManager cacheManager = new ClusterCaffeineCacheManager(bus, "event", "user");
+        Cache events = cacheManager.getCache("event");
+        Cache users = cacheManager.getCache("user");
+        events.put(1, "Cached Event");
+        users.put("gen-1", "Cached User");
+
+        EventRepository eventRepository = mock(EventRepository.class);
+        when(eventRepository.findAllWithAvailability()).thenReturn(List.of());
+        EventAvailabilityIndex availabilityIndex = new EventAvailabilityIndex(eventRepository, bus,
+                mock(PlatformTransactionManager.class));
+        availabilityIndex.build();
+
+        bus.start();
+        awaitTrue(() -> connections.get() == 1);
+        availabilityIndex.find("2025-01-01", "2025-01-31");
+        // The first connection is not a reconnect, nothing was missed yet
+        assertNotNull(events.get(1));
+        verify(eventRepository, times(1)).findAllWithAvailability();
+
+        dropConnection.set(true);
+        awaitTrue(() -> events.get(1) == null);
+
+        assertEquals(2, connections.get());
+        assertNull(users.get("gen-1"));
+        availabilityIndex.find("2025-01-01", "2025-01-31");
+        verify(eventRepository, times(2)).findAllWithAvailability();
+    }
+
+    // The first connection fails once the test drops it, later ones stay up
+    private Connection listeningConnection(boolean droppable) throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        PGConnection pgConnection = mock(PGConnection.class);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getNotifications(anyInt())).thenAnswer(invocation -> {
+            if (droppable && dropConnection.get()) {
+                throw new SQLException("An I/O error occurred while sending to the backend");
+            }
+            Thread.sleep(5);
+            return null;
+        });
+        return connection;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in 5 seconds");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package dev.yerassyl.aliyev.feedback;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedbackCompactorTest {
+
+    @TempDir
+    Path directory;
+
+    private FeedbackLog feedbackLog;
+    private FeedbackReader feedbackReader;
+    private FeedbackCompactor feedbackCompactor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        feedbackLog = new FeedbackLog(directory.toString(), "never", 1000);
+        feedbackReader = new FeedbackReader(feedbackLog);
+        feedbackCompactor = new FeedbackCompactor(feedbackLog, 2, 0);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        feedbackCompactor.close();
+        feedbackLog.close();
+    }
+
+    private void write(String day, int count) throws Exception {
+        List<FeedbackEntry> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            entries.add(new FeedbackEntry(String.format("%s 12:%02d:%02d", day, i / 60 % 60, i % 60),
+                    "User " + i, "user" + (i % 7) + "@example.com", "Subject " + (i % 3),
+                    "Здравствуйте, у меня вопрос по бронированию номер " + i));
+        }
+        feedbackLog.appendAll(entries);
+    }
+
+    private List<String> page(String email, int pageSize, FeedbackCursor cursor, List<String> messages) throws Exception {
+        FeedbackReader.Page page = feedbackReader.read(new FeedbackQuery(null, null, email, null, pageSize, cursor),
+                entry -> messages.add(entry.message()));
+        return page.hasNext() ? List.of(page.nextCursor()) : List.of();
+    }
+
+    @Test
+    void oldDays_areCompactedIntoSmallerSegments() throws Exception {
+        write("2025-01-01", 500);
+        write("2025-01-02", 300);
+        String today = LocalDate.now().toString();
+        write(today, 10);
+        List<FeedbackEntry> before = feedbackLog.readAll();
+        long ndjsonSize = Files.size(feedbackLog.fileOf("2025-01-01"));
+
+        assertEquals(2, feedbackCompactor.compactAll());
+
+        assertFalse(Files.exists(feedbackLog.fileOf("2025-01-01")));
+        assertTrue(Files.exists(feedbackLog.segmentOf("2025-01-01")));
+        assertTrue(Files.exists(feedbackLog.fileOf(today)));
+        assertTrue(Files.size(feedbackLog.segmentOf("2025-01-01")) * 5 < ndjsonSize);
+        assertEquals(before, feedbackLog.readAll());
+
+        FeedbackSegment segment = FeedbackSegment.open(feedbackLog.segmentOf("2025-01-01"));
+        assertEquals(500, segment.count());
+        assertEquals("2025-01-01 12:00:00", segment.firstTimestamp());
+        assertTrue(segment.mightContainEmail("USER3@example.com"));
+        assertFalse(segment.mightContainEmail("nobody@example.com"));
+        assertEquals(0, feedbackCompactor.compactAll());
+    }
+
+    @Test
+    void cursor_survivesCompaction() throws Exception {
+        write("2025-01-01", 200);
+        List<String> expected = new ArrayList<>();
+        page(null, 1000, null, expected);
+
+        List<String> messages = new ArrayList<>();
+        List<String> cursor = page(null, 75, null, messages);
+        feedbackCompactor.compactAll();
+        while (!cursor.isEmpty()) {
+            cursor = page(null, 75, FeedbackCursor.decode(cursor.get(0)), messages);
+        }
+
+        assertEquals(expected, messages);
+    }
+
+    @Test
+    void emailFilter_readsSegments() throws Exception {
+        write("2025-01-01", 70);
+        feedbackCompactor.compactAll();
+
+        List<String> messages = new ArrayList<>();
+        page("user1@example.com", 100, null, messages);
+        assertEquals(10, messages.size());
+
+        messages.clear();
+        page("nobody@example.com", 100, null, messages);
+        assertTrue(messages.isEmpty());
+    }
+
+    @Test
+    void lateEntries_areMergedIntoTheSegment() throws Exception {
+        write("2025-01-01", 100);
+        feedbackCompactor.compactAll();
+        write("2025-01-01", 5);
+        feedbackLog.close();
+
+        assertEquals(1, feedbackCompactor.compactAll());
+
+        assertFalse(Files.exists(feedbackLog.fileOf("2025-01-01")));
+        assertEquals(105, feedbackLog.readAll().size());
+        List<String> messages = new ArrayList<>();
+        page(null, 1000, null, messages);
+        assertEquals(105, messages.size());
+        assertEquals("Здравствуйте, у меня вопрос по бронированию номер 4", messages.get(0));
+    }
+
+    @Test
+    void lateEntries_areReadBeforeTheyAreMerged() throws Exception {
+        write("2025-01-01", 100);
+        feedbackCompactor.compactAll();
+        write("2025-01-01", 5);
+
+        assertEquals(105, feedbackLog.readAll().size());
+        List<String> expected = new ArrayList<>();
+        page(null, 1000, null, expected);
+        assertEquals(105, expected.size());
+        assertEquals("Здравствуйте, у меня вопрос по бронированию номер 4", expected.get(0));
+
+        // Paging from the late entries into the segment, with the late entries merged in between
+        List<String> messages = new ArrayList<>();
+        List<String> cursor = page(null, 3, null, messages);
+        feedbackLog.close();
+        feedbackCompactor.compactAll();
+        while (!cursor.isEmpty()) {
+            cursor = page(null, 30, FeedbackCursor.decode(cursor.get(0)), messages);
+        }
+        assertEquals(expected, messages);
+    }
+}
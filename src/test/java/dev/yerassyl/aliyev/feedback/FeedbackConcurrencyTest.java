@@ -0,0 +1,104 @@
+package dev.yerassyl.aliyev.feedback;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Parallel POSTs to /api/v1/feedback, every one of them must end up in the log
+ */
+@ActiveProfiles("h2")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:feedbackConcurrency;DB_CLOSE_DELAY=-1"
+})
+class FeedbackConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int REQUESTS_PER_THREAD = 25;
+
+    @TempDir
+    static Path feedbackDirectory;
+
+    @DynamicPropertySource
+    static void feedbackDirectory(DynamicPropertyRegistry registry) {
+        registry.add("app.feedback.dir", feedbackDirectory::toString);
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    FeedbackLog feedbackLog;
+
+    @Autowired
+    FeedbackIngestor feedbackIngestor;
+
+    @Test
+    void parallelSubmissions_areAllStored() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                tasks.add(() -> {
+                    int accepted = 0;
+                    for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                        String body = """
+                                {"name":"Tester","email":"tester@example.com","subject":"Load test",
+                                 "message":"message %d-%d from the concurrency test"}""".formatted(thread, i);
+                        HttpResponse<String> response = client.send(HttpRequest.newBuilder()
+                                .uri(URI.create("http://localhost:" + port + "/api/v1/feedback"))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                .build(), HttpResponse.BodyHandlers.ofString());
+                        if (response.statusCode() == 200) {
+                            accepted++;
+                        }
+                    }
+                    return accepted;
+                });
+            }
+            int accepted = 0;
+            for (Future<Integer> result : executor.invokeAll(tasks)) {
+                accepted += result.get();
+            }
+            assertEquals(THREADS * REQUESTS_PER_THREAD, accepted);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Accepted entries are written asynchronously
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (feedbackIngestor.written() < THREADS * REQUESTS_PER_THREAD && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        List<FeedbackEntry> stored = feedbackLog.readAll();
+        Set<String> messages = new HashSet<>();
+        stored.forEach(entry -> messages.add(entry.message()));
+        assertEquals(THREADS * REQUESTS_PER_THREAD, stored.size());
+        assertEquals(THREADS * REQUESTS_PER_THREAD, messages.size());
+    }
+}
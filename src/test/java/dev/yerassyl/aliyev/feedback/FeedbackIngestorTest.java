@@ -0,0 +1,139 @@
+package dev.yerassyl.aliyev.feedback;
+
+import dev.yerassyl.aliyev.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedbackIngestorTest {
+
+    @TempDir
+    Path directory;
+
+    private static FeedbackEntry entry(int i) {
+        return new FeedbackEntry("2025-03-01 12:00:00", "Test", "test@example.com", "Subject", "message " + i);
+    }
+
+    @Test
+    void submissions_areWrittenInBatches() throws Exception {
+        RecordingLog feedbackLog = new RecordingLog(directory, null);
+        FeedbackSearchIndex searchIndex = new FeedbackSearchIndex(new FeedbackReader(feedbackLog));
+        FeedbackIngestor ingestor = new FeedbackIngestor(feedbackLog, searchIndex, 1000, 50, 50, 0, 30_000);
+        for (int i = 0; i < 500; i++) {
+            ingestor.submit(entry(i));
+        }
+        ingestor.close();
+
+        assertEquals(500, feedbackLog.readAll().size());
+        assertEquals(500, searchIndex.size());
+        assertEquals(500, searchIndex.search("message", 0, 10).total());
+        assertTrue(feedbackLog.batchSizes.stream().allMatch(size -> size <= 50));
+        assertTrue(feedbackLog.batchSizes.size() < 500, "entries must be grouped into batches");
+    }
+
+    @Test
+    void fullQueue_rejectsAndShutdownDrainsAccepted() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingLog feedbackLog = new RecordingLog(directory, release);
+        FeedbackIngestor ingestor = new FeedbackIngestor(feedbackLog,
+                new FeedbackSearchIndex(new FeedbackReader(feedbackLog)), 10, 1, 0, 0, 30_000);
+
+        // The writer is stuck on the first batch, so the queue fills up
+        int accepted = 0;
+        int rejected = 0;
+        for (int i = 0; i < 50; i++) {
+            try {
+                ingestor.submit(entry(i));
+                accepted++;
+            } catch (TooManyRequestsException e) {
+                rejected++;
+            }
+        }
+        assertTrue(rejected > 0);
+        assertEquals(rejected, ingestor.rejected());
+
+        release.countDown();
+        ingestor.close();
+        assertEquals(accepted, feedbackLog.readAll().size());
+        assertThrows(TooManyRequestsException.class, () -> ingestor.submit(entry(99)));
+    }
+
+    @Test
+    void slowShutdown_finishesTheBatchInFlightBeforeTheLogCloses() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingLog feedbackLog = new RecordingLog(directory, release);
+        FeedbackIngestor ingestor = new FeedbackIngestor(feedbackLog,
+                new FeedbackSearchIndex(new FeedbackReader(feedbackLog)), 10, 1, 0, 0, 100);
+        for (int i = 0; i < 5; i++) {
+            ingestor.submit(entry(i));
+        }
+
+        // The first batch is still being written when the shutdown timeout runs out
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            release.countDown();
+        });
+        ingestor.close();
+        feedbackLog.close();
+
+        assertEquals(1, ingestor.written());
+        assertEquals(4, ingestor.failed());
+        assertEquals(List.of("message 0"), feedbackLog.readAll().stream().map(FeedbackEntry::message).toList());
+    }
+
+    @Test
+    void failedWrite_isNotIndexed() throws Exception {
+        FeedbackLog feedbackLog = new FeedbackLog(directory.toString(), "never", 0) {
+            @Override
+            public synchronized List<FeedbackCursor> appendAll(List<FeedbackEntry> entries) throws IOException {
+                throw new IOException("disk full");
+            }
+        };
+        FeedbackSearchIndex searchIndex = new FeedbackSearchIndex(new FeedbackReader(feedbackLog));
+        FeedbackIngestor ingestor = new FeedbackIngestor(feedbackLog, searchIndex, 100, 10, 0, 0, 30_000);
+        for (int i = 0; i < 20; i++) {
+            ingestor.submit(entry(i));
+        }
+        ingestor.close();
+
+        assertEquals(20, ingestor.failed());
+        assertEquals(0, searchIndex.size());
+        assertEquals(0, searchIndex.search("message", 0, 10).total());
+    }
+
+    private static class RecordingLog extends FeedbackLog {
+
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+
+        RecordingLog(Path directory, CountDownLatch release) throws IOException {
+            super(directory.toString(), "never", 0);
+            this.release = release;
+        }
+
+        @Override
+        public synchronized List<FeedbackCursor> appendAll(List<FeedbackEntry> entries) throws IOException {
+            if (release != null) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            batchSizes.add(entries.size());
+            return super.appendAll(entries);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package dev.yerassyl.aliyev.feedback;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedbackLogTest {
+
+    @TempDir
+    Path directory;
+
+    private FeedbackLog open() throws Exception {
+        return new FeedbackLog(directory.toString(), "always", 1000);
+    }
+
+    private static FeedbackEntry entry(String timestamp, String message) {
+        return new FeedbackEntry(timestamp, "Test", "test@example.com", "Subject", message);
+    }
+
+    @Test
+    void append_writesOneLinePerEntryIntoTheFileOfItsDay() throws Exception {
+        FeedbackLog feedbackLog = open();
+        feedbackLog.append(entry("2025-01-01 23:59:59", "first"));
+        feedbackLog.append(entry("2025-01-02 00:00:01", "second"));
+        feedbackLog.append(entry("2025-01-02 10:00:00", "third"));
+        feedbackLog.close();
+
+        assertEquals(1, Files.readAllLines(directory.resolve("feedback_2025-01-01.ndjson")).size());
+        assertEquals(2, Files.readAllLines(directory.resolve("feedback_2025-01-02.ndjson")).size());
+        assertEquals(List.of("first", "second", "third"),
+                open().readAll().stream().map(FeedbackEntry::message).toList());
+    }
+
+    @Test
+    void legacyJsonFile_isMigratedToNdjson() throws Exception {
+        Files.writeString(directory.resolve("feedback_2024-05-01.json"), """
+                [ {
+                  "timestamp" : "2024-05-01 10:00:00",
+                  "name" : "Old",
+                  "email" : "old@example.com",
+                  "subject" : "Legacy",
+                  "message" : "written by the old version"
+                } ]""");
+
+        FeedbackLog feedbackLog = open();
+        feedbackLog.append(entry("2024-05-01 11:00:00", "new"));
+
+        assertFalse(Files.exists(directory.resolve("feedback_2024-05-01.json")));
+        assertEquals(List.of("written by the old version", "new"),
+                feedbackLog.readAll().stream().map(FeedbackEntry::message).toList());
+    }
+
+    @Test
+    void tornLastLine_isSkippedAndNextEntryStartsOnItsOwnLine() throws Exception {
+        Files.writeString(directory.resolve("feedback_2024-06-01.ndjson"),
+                "{\"timestamp\":\"2024-06-01 09:00:00\",\"message\":\"complete\"}\n{\"timestamp\":\"2024-06-01 09:0");
+
+        FeedbackLog feedbackLog = open();
+        feedbackLog.append(entry("2024-06-01 10:00:00", "after crash"));
+
+        assertEquals(List.of("complete", "after crash"),
+                feedbackLog.readAll().stream().map(FeedbackEntry::message).toList());
+    }
+}
@@ -0,0 +1,147 @@
+package dev.yerassyl.aliyev.feedback;
+
+import dev.yerassyl.aliyev.exception.InvalidRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedbackReaderTest {
+
+    @TempDir
+    Path directory;
+
+    private FeedbackLog feedbackLog;
+    private FeedbackReader feedbackReader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        feedbackLog = new FeedbackLog(directory.toString(), "never", 1000);
+        feedbackReader = new FeedbackReader(feedbackLog);
+        // 150 messages a day spans several index blocks per file
+        for (int day = 1; day <= 3; day++) {
+            List<FeedbackEntry> entries = new ArrayList<>();
+            for (int i = 0; i < 150; i++) {
+                String subject = i % 10 == 0 ? "Billing question" : "General";
+                entries.add(new FeedbackEntry(String.format("2025-01-0%d 10:%02d:%02d", day, i / 60, i % 60),
+                        "User " + i, "user" + (i % 5) + "@example.com", subject, day + "-" + i));
+            }
+            feedbackLog.appendAll(entries);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        feedbackLog.close();
+    }
+
+    private List<String> readAll(String dateFrom, String dateTo, String email, String subject, int pageSize) throws Exception {
+        List<String> messages = new ArrayList<>();
+        FeedbackCursor cursor = null;
+        do {
+            List<String> page = new ArrayList<>();
+            FeedbackReader.Page result = feedbackReader.read(
+                    new FeedbackQuery(dateFrom, dateTo, email, subject, pageSize, cursor),
+                    entry -> page.add(entry.message()));
+            assertTrue(page.size() <= pageSize);
+            assertEquals(result.hasNext(), result.nextCursor() != null);
+            if (result.hasNext()) {
+                assertEquals(pageSize, page.size());
+            }
+            messages.addAll(page);
+            cursor = FeedbackCursor.decode(result.nextCursor());
+        } while (cursor != null);
+        return messages;
+    }
+
+    @Test
+    void pages_coverEveryEntryOnceNewestFirst() throws Exception {
+        List<String> messages = readAll(null, null, null, null, 17);
+
+        assertEquals(450, messages.size());
+        assertEquals("3-149", messages.get(0));
+        assertEquals("3-0", messages.get(149));
+        assertEquals("2-149", messages.get(150));
+        assertEquals("1-0", messages.get(449));
+    }
+
+    @Test
+    void filters_narrowByDateEmailAndSubject() throws Exception {
+        assertEquals(150, readAll("2025-01-02", "2025-01-02", null, null, 50).size());
+        assertEquals(60, readAll("2025-01-02", null, "USER0@example.com", null, 7).size());
+        assertEquals(List.of("1-140", "1-130", "1-120"),
+                readAll(null, "2025-01-01", null, "billing", 100).subList(0, 3));
+        assertTrue(readAll("2025-02-01", null, null, null, 10).isEmpty());
+    }
+
+    @Test
+    void lastFullPage_hasNoNextCursor() throws Exception {
+        List<String> page = new ArrayList<>();
+        FeedbackReader.Page result = feedbackReader.read(
+                new FeedbackQuery("2025-01-01", "2025-01-01", null, null, 150, null), entry -> page.add(entry.message()));
+
+        assertEquals(150, page.size());
+        assertFalse(result.hasNext());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void entriesAppendedAfterIndexing_areVisible() throws Exception {
+        readAll(null, null, null, null, 500);
+        feedbackLog.append(new FeedbackEntry("2025-01-03 23:00:00", "Late", "late@example.com", "General", "late"));
+
+        assertEquals("late", readAll(null, null, null, null, 1).get(0));
+    }
+
+    @Test
+    void sealedDays_areMappedAndSummarizedOnce() throws Exception {
+        readAll(null, null, null, null, 500);
+        Path file = feedbackLog.fileOf("2025-01-01");
+        FeedbackFileSummary summary = feedbackReader.summaryOf("2025-01-01", file);
+
+        assertTrue(summary.isMapped());
+        assertEquals(150, summary.index().lines());
+        assertSame(summary, feedbackReader.summaryOf("2025-01-01", file));
+
+        feedbackLog.append(new FeedbackEntry("2025-01-01 23:00:00", "Late", "late@example.com", "General", "late"));
+        FeedbackFileSummary rebuilt = feedbackReader.summaryOf("2025-01-01", file);
+        assertNotSame(summary, rebuilt);
+        assertEquals(151, rebuilt.index().lines());
+    }
+
+    @Test
+    void today_isReadWithoutMapping() throws Exception {
+        String today = LocalDate.now().toString();
+        feedbackLog.append(new FeedbackEntry(today + " 08:00:00", "Today", "today@example.com", "General", "today"));
+
+        assertEquals(List.of("today"), readAll(today, today, null, null, 10));
+        assertFalse(feedbackReader.summaryOf(today, feedbackLog.fileOf(today)).isMapped());
+    }
+
+    @Test
+    void damagedLine_isSkipped() throws Exception {
+        feedbackLog.close();
+        Files.writeString(feedbackLog.fileOf("2025-01-01"), "{broken\n", StandardOpenOption.APPEND);
+
+        List<String> messages = readAll("2025-01-01", "2025-01-01", null, null, 500);
+        assertEquals(150, messages.size());
+        assertEquals("1-149", messages.get(0));
+    }
+
+    @Test
+    void malformedCursor_isRejected() {
+        assertThrows(InvalidRequestException.class, () -> FeedbackCursor.decode("not a cursor"));
+        assertThrows(InvalidRequestException.class, () -> FeedbackCursor.decode(new FeedbackCursor("2024-1-5", 0).encode()));
+        assertEquals(new FeedbackCursor("2024-01-05", 7), FeedbackCursor.decode(new FeedbackCursor("2024-01-05", 7).encode()));
+        assertNull(FeedbackCursor.decode(""));
+    }
+}
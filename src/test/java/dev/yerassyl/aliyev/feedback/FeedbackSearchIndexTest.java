@@ -0,0 +1,113 @@
+package dev.yerassyl.aliyev.feedback;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedbackSearchIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private FeedbackLog feedbackLog;
+    private FeedbackSearchIndex index;
+
+    private static FeedbackEntry entry(String timestamp, String subject, String message) {
+        return new FeedbackEntry(timestamp, "Test", "test@example.com", subject, message);
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        feedbackLog = new FeedbackLog(directory.toString(), "never", 1000);
+        feedbackLog.append(entry("2025-01-01 10:00:00", "Оплата", "Не проходит оплата картой Visa"));
+        feedbackLog.append(entry("2025-01-02 10:00:00", "Вопрос", "Как отменить бронь? Оплата прошла дважды, оплата!"));
+        feedbackLog.close();
+        index = new FeedbackSearchIndex(new FeedbackReader(feedbackLog));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        feedbackLog.close();
+    }
+
+    // Stored first, as FeedbackIngestor does
+    private void add(FeedbackEntry entry) throws Exception {
+        index.add(feedbackLog.append(entry), entry);
+    }
+
+    private List<String> messages(FeedbackSearchIndex.Result result) {
+        return result.hits().stream().map(FeedbackEntry::message).toList();
+    }
+
+    @Test
+    void startup_indexesExistingFeedback() throws Exception {
+        assertEquals(2, index.size());
+        assertEquals(List.of("Не проходит оплата картой Visa"), messages(index.search("visa", 0, 10)));
+    }
+
+    @Test
+    void search_matchesAllTermsAndRanksByFrequency() throws Exception {
+        add(entry("2025-01-03 10:00:00", "Wi-Fi", "Wi-Fi в зале не работает"));
+
+        FeedbackSearchIndex.Result payment = index.search("ОПЛАТА", 0, 10);
+        assertEquals(2, payment.total());
+        assertEquals("Как отменить бронь? Оплата прошла дважды, оплата!", payment.hits().get(0).message());
+
+        assertEquals(List.of("Не проходит оплата картой Visa"), messages(index.search("оплата картой", 0, 10)));
+        assertEquals(List.of("Wi-Fi в зале не работает"), messages(index.search("wi fi", 0, 10)));
+        assertEquals(0, index.search("оплата wifi", 0, 10).total());
+        assertEquals(0, index.search("?!", 0, 10).total());
+    }
+
+    @Test
+    void yo_isFoldedIntoYe() throws Exception {
+        add(entry("2025-01-03 10:00:00", "Отзыв", "Всё понравилось, ещё приду"));
+
+        assertEquals(1, index.search("все еще", 0, 10).total());
+        assertEquals(1, index.search("всё", 0, 10).total());
+    }
+
+    @Test
+    void pages_splitHitsNewestFirstOnEqualScore() throws Exception {
+        for (int i = 0; i < 25; i++) {
+            add(entry("2025-02-01 10:00:00", "Парковка", "парковка " + i));
+        }
+
+        List<String> all = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            FeedbackSearchIndex.Result result = index.search("парковка", page, 10);
+            assertEquals(25, result.total());
+            all.addAll(messages(result));
+        }
+        assertEquals(25, all.size());
+        assertEquals("парковка 24", all.get(0));
+        assertEquals("парковка 0", all.get(24));
+        assertTrue(index.search("парковка", 5, 10).hits().isEmpty());
+    }
+
+    @Test
+    void hits_areReadFromDiskAfterCompaction() throws Exception {
+        feedbackLog.close();
+        FeedbackCompactor compactor = new FeedbackCompactor(feedbackLog, 2, 0);
+        try {
+            assertEquals(2, compactor.compactAll());
+            add(entry("2025-01-01 23:59:59", "Оплата", "Оплата картой снова не прошла"));
+
+            assertEquals(List.of("Оплата картой снова не прошла", "Не проходит оплата картой Visa"),
+                    messages(index.search("оплата картой", 0, 10)));
+            feedbackLog.close();
+            compactor.compactAll();
+            assertEquals(List.of("Оплата картой снова не прошла", "Не проходит оплата картой Visa"),
+                    messages(index.search("оплата картой", 0, 10)));
+        } finally {
+            compactor.close();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package dev.yerassyl.aliyev.security;
+
+import dev.yerassyl.aliyev.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LoginRateLimiter limiter(int studentBurst, int studentPerMinute, int addressBurst, int addressPerMinute) {
+        return new LoginRateLimiter(studentBurst, studentPerMinute, addressBurst, addressPerMinute, 1024,
+                meterRegistry, now::get, 42);
+    }
+
+    private double rejected(String limit) {
+        return meterRegistry.get("login.rejected").tag("limit", limit).counter().count();
+    }
+
+    @Test
+    void burstPerStudentId_isAllowedThenRefilled() {
+        LoginRateLimiter limiter = limiter(3, 6, 100, 100);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("S1", "10.0.0." + i);
+        }
+
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> limiter.acquire("S1", "10.0.0.9"));
+        // 6 a minute: the next token comes back in 10 seconds
+        assertEquals(10, e.getRetryAfterSeconds());
+        assertEquals(1, rejected("student"));
+        limiter.acquire("S2", "10.0.0.9");
+
+        now.addAndGet(9_000);
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("S1", "10.0.0.9"));
+        now.addAndGet(1_000);
+        limiter.acquire("S1", "10.0.0.9");
+        assertEquals(7, meterRegistry.get("login.attempts").counter().count());
+    }
+
+    @Test
+    void oneAddress_isCutOffAcrossStudentIds() {
+        LoginRateLimiter limiter = limiter(5, 5, 4, 60);
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire("S" + i, "10.0.0.1");
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("S9", "10.0.0.1"));
+        assertEquals(1, rejected("address"));
+        assertEquals(0, rejected("student"));
+        // The refused attempt did not take a token of S9
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("S9", "10.0.1." + i);
+        }
+    }
+
+    @Test
+    void concurrentAttempts_neverExceedTheBurst() throws Exception {
+        LoginRateLimiter limiter = limiter(50, 1, 10_000, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    int allowed = 0;
+                    for (int i = 0; i < 100; i++) {
+                        try {
+                            limiter.acquire("S1", "10.0.0.1");
+                            allowed++;
+                        } catch (TooManyRequestsException e) {
+                            // expected once the bucket is empty
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+            int allowed = 0;
+            for (Future<Integer> result : results) {
+                allowed += result.get();
+            }
+            assertEquals(50, allowed);
+            assertEquals(750, rejected("student"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package dev.yerassyl.aliyev.security;
+
+import dev.yerassyl.aliyev.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Pbkdf2PasswordHasherTest {
+
+    // SHA-256 of "secret" in hex, as stored by earlier versions
+    private static final String LEGACY_SECRET = "2bb80d537b1da3e38bd30361aa855686bde0eacd7162fef6a25fe97bf527a25b";
+
+    private final Pbkdf2PasswordHasher hasher = new Pbkdf2PasswordHasher(1000, 2, 16);
+
+    @AfterEach
+    void tearDown() {
+        hasher.close();
+    }
+
+    @Test
+    void hash_isSaltedAndVerifiable() {
+        String first = hasher.hash("secret");
+        String second = hasher.hash("secret");
+
+        assertTrue(first.startsWith("pbkdf2-sha256$1000$"));
+        assertNotEquals(first, second);
+        assertTrue(hasher.matches("secret", first));
+        assertTrue(hasher.matches("secret", second));
+        assertFalse(hasher.matches("Secret", first));
+        assertFalse(hasher.needsRehash(first));
+    }
+
+    @Test
+    void legacySha256_isAcceptedAndNeedsRehash() {
+        assertTrue(hasher.matches("secret", LEGACY_SECRET));
+        assertFalse(hasher.matches("other", LEGACY_SECRET));
+        assertTrue(hasher.needsRehash(LEGACY_SECRET));
+    }
+
+    @Test
+    void lowerCost_needsRehash() {
+        Pbkdf2PasswordHasher cheaper = new Pbkdf2PasswordHasher(500, 1, 1);
+        String hash = cheaper.hash("secret");
+        cheaper.close();
+
+        assertTrue(hasher.matches("secret", hash));
+        assertTrue(hasher.needsRehash(hash));
+    }
+
+    @Test
+    void malformedHashes_doNotMatch() {
+        assertFalse(hasher.matches("secret", null));
+        assertFalse(hasher.matches("secret", "pbkdf2-sha256$x$y$z"));
+        assertFalse(hasher.matches("secret", "bcrypt$10$abc$def"));
+        assertTrue(hasher.needsRehash("pbkdf2-sha256$x$y$z"));
+    }
+
+    @Test
+    void fullPool_rejectsWithTooManyRequests() {
+        Pbkdf2PasswordHasher slow = new Pbkdf2PasswordHasher(500_000, 1, 1);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<String>> logins = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                logins.add(CompletableFuture.supplyAsync(() -> slow.hash("secret"), callers));
+            }
+            long rejected = logins.stream().filter(login -> {
+                try {
+                    login.join();
+                    return false;
+                } catch (CompletionException e) {
+                    return e.getCause() instanceof TooManyRequestsException;
+                }
+            }).count();
+            assertTrue(rejected >= 1, "one worker and one queue slot cannot take 8 logins at once");
+        } finally {
+            callers.shutdownNow();
+            slow.close();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package dev.yerassyl.aliyev.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionTokenServiceTest {
+
+    private static final String SECRET = "3q1yQ0mYV6Tg9kqX1v4oKp0d8p1sZQ2nH7wJc5uR8aE=";
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    private static SessionTokenService service(String secret, Instant now) {
+        return new SessionTokenService(secret, Duration.ofHours(1), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Test
+    void token_isAcceptedByAnyInstanceWithTheSameSecret() {
+        String token = service(SECRET, NOW).issue(42);
+
+        assertEquals(62, token.length());
+        assertEquals(42, service(SECRET, NOW).verify(token));
+        assertNull(service("c2Vjb25kLXNlY3JldC1rZXktb2YtMzItYnl0ZXMtLS0=", NOW).verify(token));
+    }
+
+    @Test
+    void expiredToken_isRejected() {
+        String token = service(SECRET, NOW).issue(7);
+
+        assertEquals(7, service(SECRET, NOW.plus(Duration.ofMinutes(59))).verify(token));
+        assertNull(service(SECRET, NOW.plus(Duration.ofHours(1))).verify(token));
+    }
+
+    @Test
+    void tamperedOrMalformedToken_isRejected() {
+        SessionTokenService service = service(SECRET, NOW);
+        String token = service.issue(1);
+        String otherUser = service.issue(2);
+
+        // Payload of user 2 with the signature of user 1
+        assertNull(service.verify(otherUser.substring(0, 18) + token.substring(18)));
+        char last = token.charAt(token.length() - 1);
+        assertNull(service.verify(token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A')));
+        assertNull(service.verify(null));
+        assertNull(service.verify(""));
+        assertNull(service.verify(token.replace('.', '!')));
+        assertNull(service.verify("*".repeat(62)));
+    }
+
+    @Test
+    void shortSecret_isRefused() {
+        assertThrows(IllegalArgumentException.class, () -> service("c2hvcnQ=", NOW));
+    }
+}
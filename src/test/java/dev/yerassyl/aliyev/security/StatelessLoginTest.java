@@ -0,0 +1,73 @@
+package dev.yerassyl.aliyev.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Login over HTTP hands out a signed token instead of creating an HttpSession
+ */
+@ActiveProfiles("h2")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:statelessLogin;DB_CLOSE_DELAY=-1",
+        "app.security.token.secret=3q1yQ0mYV6Tg9kqX1v4oKp0d8p1sZQ2nH7wJc5uR8aE=",
+        "app.security.password.iterations=1000"
+})
+class StatelessLoginTest {
+
+    @LocalServerPort
+    int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private HttpResponse<String> send(String path, String body, String header, String value) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1" + path))
+                .header("Content-Type", "application/json");
+        if (header != null) {
+            request.header(header, value);
+        }
+        request.method(body == null ? "GET" : "POST",
+                body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void token_identifiesTheUserWithoutSession() throws Exception {
+        HttpResponse<String> registered = send("/register",
+                "{\"studentId\":\"TOKEN1\",\"name\":\"Token\",\"surname\":\"User\",\"password\":\"secret\"}", null, null);
+        assertEquals(200, registered.statusCode());
+        String setCookie = registered.headers().firstValue("Set-Cookie").orElseThrow();
+        assertTrue(setCookie.startsWith("AUTH_TOKEN="));
+        assertTrue(setCookie.contains("HttpOnly"));
+        assertTrue(registered.headers().allValues("Set-Cookie").stream().noneMatch(c -> c.startsWith("JSESSIONID")));
+        String token = registered.headers().firstValue(SessionTokenService.TOKEN_HEADER).orElseThrow();
+
+        // Verified by a separate instance with the same secret, as another replica would
+        Integer userId = new SessionTokenService("3q1yQ0mYV6Tg9kqX1v4oKp0d8p1sZQ2nH7wJc5uR8aE=", 1).verify(token);
+        assertNotNull(userId);
+
+        assertTrue(send("/user/current", null, "Cookie", "AUTH_TOKEN=" + token).body().contains("\"studentId\":\"TOKEN1\""));
+        assertTrue(send("/user/current", null, "Authorization", "Bearer " + token).body().contains("\"id\":" + userId));
+        assertTrue(send("/user/current", null, "Cookie", "AUTH_TOKEN=forged").body().isEmpty());
+
+        HttpResponse<String> loggedOut = send("/logout", "", "Cookie", "AUTH_TOKEN=" + token);
+        assertTrue(loggedOut.headers().firstValue("Set-Cookie").orElseThrow().contains("Max-Age=0"));
+    }
+
+    @Test
+    void reservation_withoutToken_isRefused() throws Exception {
+        HttpResponse<String> response = send("/reservation", "{\"eventId\":1,\"status\":true}", null, null);
+
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().contains("Необходимо войти в систему"));
+    }
+}
@@ -0,0 +1,138 @@
+package dev.yerassyl.aliyev.serviceImp;
+
+import dev.yerassyl.aliyev.constants.AppConstants;
+import dev.yerassyl.aliyev.constants.ErrorMessages;
+import dev.yerassyl.aliyev.dto.EventImportResult;
+import dev.yerassyl.aliyev.dto.EventView;
+import dev.yerassyl.aliyev.repository.EventRepository;
+import dev.yerassyl.aliyev.service.EventImportService;
+import dev.yerassyl.aliyev.service.EventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing bulk event import through JDBC batches and the matching export
+ */
+@ActiveProfiles("h2")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:eventImport;DB_CLOSE_DELAY=-1",
+        "app.event.import.batch-size=100",
+        "app.event.import.max-errors=2"
+})
+class EventImportServiceImpTest {
+
+    @Autowired
+    EventImportService eventImportService;
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    private EventImportResult importEvents(String body) throws Exception {
+        return eventImportService.importEvents(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String event(String name, String type, String from, String to) {
+        return "{\"name\":\"" + name + "\",\"type\":\"" + type + "\",\"description\":\"Imported\"," +
+                "\"availableFrom\":\"" + from + "\",\"availableTo\":\"" + to + "\",\"status\":true,\"capacity\":20}";
+    }
+
+    @Test
+    void ndjson_importsValidRowsAndReportsTheOthers() throws Exception {
+        long before = eventRepository.count();
+        int cachedCatalog = eventService.getAllEvents().size();
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= 450; i++) {
+            if (i == 7) {
+                body.append(event("", "CONCERT", "2045-01-01", "2045-01-02"));
+            } else if (i == 120) {
+                body.append(event("Party " + i, "PARTY", "2045-01-01", "2045-01-02"));
+            } else if (i == 301) {
+                body.append(event("Backwards " + i, "WORKSHOP", "2045-02-01", "2045-01-01"));
+            } else {
+                body.append(event("Imported Event " + i, "WORKSHOP", "2045-01-01", "2045-01-" + (10 + i % 10)));
+            }
+            body.append('\n');
+        }
+
+        EventImportResult result = importEvents(body.toString());
+
+        assertEquals(450, result.getReceived());
+        assertEquals(447, result.getImported());
+        assertEquals(3, result.getRejected());
+        assertEquals(List.of(7L, 120L), result.getErrors().stream().map(EventImportResult.RowError::row).sorted().toList());
+        assertEquals(before + 447, eventRepository.count());
+
+        // The catalog cache and the availability index see the new events
+        assertEquals(cachedCatalog + 447, eventService.getAllEvents().size());
+        List<EventView> available = eventService.getAvailable("2045-01-01", "2045-01-31");
+        assertEquals(447, available.size());
+        assertEquals(20, available.get(0).capacity());
+        assertEquals(0, available.get(0).seatsTaken());
+    }
+
+    @Test
+    void jsonArray_andExport_roundTrip() throws Exception {
+        EventImportResult result = importEvents("[" + event("Array Event 1", "CONFERENCE", "2046-03-01", "2046-03-02")
+                + "," + event("Array Event 2", "CONCERT", "2046-03-05", "2046-03-06")
+                + "," + event("Undated Event", "CONCERT", "", "") + "]");
+        assertEquals(3, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(new EventImportResult.RowError(3, ErrorMessages.INVALID_DATE)),
+                result.getErrors());
+
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        eventService.writeAllEvents(exported);
+        long count = eventRepository.count();
+
+        EventImportResult reimported = importEvents(exported.toString(StandardCharsets.UTF_8));
+
+        // Everything exported is read back, the rows POST /event would refuse are reported
+        assertEquals(count, reimported.getReceived());
+        assertEquals(count, reimported.getImported() + reimported.getRejected());
+        assertTrue(reimported.getImported() >= 2);
+        assertEquals(count + reimported.getImported(), eventRepository.count());
+    }
+
+    @Test
+    void capacity_defaultsWhenMissingAndMustBePositive() throws Exception {
+        EventImportResult result = importEvents(event("No Seats", "CONCERT", "2048-01-01", "2048-01-02")
+                .replace("\"capacity\":20", "\"capacity\":0") + "\n"
+                + event("Default Seats", "CONCERT", "2048-01-01", "2048-01-02").replace(",\"capacity\":20", ""));
+
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(new EventImportResult.RowError(1, ErrorMessages.INVALID_CAPACITY)), result.getErrors());
+        assertEquals(List.of(AppConstants.DEFAULT_EVENT_CAPACITY), eventService.getAvailable("2048-01-01", "2048-01-02")
+                .stream().map(EventView::capacity).toList());
+    }
+
+    @Test
+    void nullRecord_isReportedAsEmpty() throws Exception {
+        EventImportResult result = importEvents("null\n" + event("After Null", "CONCERT", "2047-02-01", "2047-02-02"));
+
+        assertEquals(2, result.getReceived());
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(new EventImportResult.RowError(1, ErrorMessages.EMPTY_IMPORT_RECORD)), result.getErrors());
+    }
+
+    @Test
+    void malformedJson_stopsTheImport() throws Exception {
+        EventImportResult result = importEvents(event("Before Error", "CONCERT", "2047-01-01", "2047-01-02")
+                + "\n{\"name\": \"Broken\",,}\n" + event("After Error", "CONCERT", "2047-01-01", "2047-01-02"));
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertEquals(new EventImportResult.RowError(2, ErrorMessages.MALFORMED_IMPORT), result.getErrors().get(0));
+    }
+}
@@ -0,0 +1,122 @@
+package dev.yerassyl.aliyev.serviceImp;
+
+import dev.yerassyl.aliyev.dto.EventView;
+import dev.yerassyl.aliyev.entity.Event;
+import dev.yerassyl.aliyev.entity.Reservation;
+import dev.yerassyl.aliyev.entity.ValidTypesOfHotelsEnum;
+import dev.yerassyl.aliyev.repository.EventRepository;
+import dev.yerassyl.aliyev.service.EventService;
+import dev.yerassyl.aliyev.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing the availability search over DATE columns...
+ */
+@ActiveProfiles("h2")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:eventAvailability;DB_CLOSE_DELAY=-1"
+})
+class EventServiceImpAvailabilityTest {
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    ReservationService reservationService;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private Integer save(String name, String from, String to, int capacity, int seatsTaken) {
+        return eventService.saveEvent(Event.builder()
+                .name(name)
+                .description("Availability test")
+                .type(ValidTypesOfHotelsEnum.CONCERT)
+                .availableFrom(from)
+                .availableTo(to)
+                .capacity(capacity)
+                .seatsTaken(seatsTaken)
+                .status(true)
+                .build()).getId();
+    }
+
+    @Test
+    void getAvailable_comparesDatesNotStrings() {
+        // As strings "2030-2-1" > "2030-10-01", as dates February is before October
+        Integer february = save("February 2030", "2030-2-1", "2030-2-28", 10, 0);
+        Integer october = save("October 2030", "2030-10-01", "2030-10-31", 10, 0);
+        Integer outside = save("December 2030", "2030-12-01", "2031-01-15", 10, 0);
+
+        List<Integer> ids = eventService.getAvailable("2030-01-01", "2030-12-31").stream().map(EventView::id).toList();
+
+        assertEquals(List.of(february, october), ids);
+        assertFalse(ids.contains(outside));
+        assertEquals("2030-02-01", eventService.getEvent(february).availableFrom());
+    }
+
+    @Test
+    void getAvailable_skipsFullEvents() {
+        Integer free = save("Free 2032", "2032-03-01", "2032-03-02", 2, 1);
+        Integer full = save("Full 2032", "2032-03-01", "2032-03-02", 2, 2);
+
+        List<Integer> ids = eventService.getAvailable("2032-01-01", "2032-12-31").stream().map(EventView::id).toList();
+
+        assertTrue(ids.contains(free));
+        assertFalse(ids.contains(full));
+    }
+
+    @Test
+    void getAvailable_followsBookingsAndCancellations() {
+        Integer eventId = save("One seat 2034", "2034-05-01", "2034-05-03", 1, 0);
+        jdbcTemplate.update("INSERT INTO user_table (student_id, name, surname, password) VALUES ('AVAIL1', 'Index', 'Test', 'x')");
+        Integer userId = jdbcTemplate.queryForObject("SELECT id FROM user_table WHERE student_id = 'AVAIL1'", Integer.class);
+
+        assertEquals(List.of(eventId), ids("2034-01-01", "2034-12-31"));
+
+        Integer reservationId = reservationService.saveReservation(
+                Reservation.builder().eventId(eventId).status(true).build(), userId).getId();
+        assertEquals(List.of(), ids("2034-01-01", "2034-12-31"));
+
+        reservationService.deleteReservation(reservationId);
+        assertEquals(List.of(eventId), ids("2034-01-01", "2034-12-31"));
+    }
+
+    @Test
+    void getAvailable_matchesDatabaseQuery() {
+        for (int i = 0; i < 200; i++) {
+            int month = 1 + i % 12;
+            save("Random 2036 " + i, "2036-" + month + "-" + (1 + i % 20), "2036-" + month + "-" + (5 + i % 20),
+                    3, i % 4 == 0 ? 3 : i % 3);
+        }
+
+        for (String[] range : new String[][]{{"2036-01-01", "2036-12-31"}, {"2036-03-05", "2036-07-10"},
+                {"2036-06-15", "2036-06-15"}, {"2035-01-01", "2037-01-01"}}) {
+            List<Integer> expected = eventRepository.findAllBetweenDates(range[0], range[1]).stream()
+                    .map(EventView::id).toList();
+            assertEquals(expected, ids(range[0], range[1]), String.join("..", range));
+        }
+    }
+
+    private List<Integer> ids(String from, String to) {
+        return eventService.getAvailable(from, to).stream().map(EventView::id).toList();
+    }
+
+    @Test
+    void availabilityColumns_areStoredAsDates() {
+        String type = jdbcTemplate.queryForObject(
+                "SELECT data_type FROM information_schema.columns WHERE table_name = 'EVENT' AND column_name = 'AVAILABLE_FROM'",
+                String.class);
+        assertEquals("DATE", type);
+    }
+}
@@ -0,0 +1,70 @@
+package dev.yerassyl.aliyev.serviceImp;
+
+import dev.yerassyl.aliyev.constants.AppConstants;
+import dev.yerassyl.aliyev.dto.EventView;
+import dev.yerassyl.aliyev.entity.Event;
+import dev.yerassyl.aliyev.entity.ValidTypesOfHotelsEnum;
+import dev.yerassyl.aliyev.service.EventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing the read-through event cache and its invalidation on writes...
+ */
+@ActiveProfiles("h2")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:eventCache;DB_CLOSE_DELAY=-1"
+})
+class EventServiceImpCacheTest {
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Test
+    void getAllEvents_servedFromCacheUntilSave() {
+        List<EventView> first = eventService.getAllEvents();
+        assertSame(first, eventService.getAllEvents());
+
+        eventService.saveEvent(newEvent("Cached Event"));
+
+        assertNull(cacheManager.getCache(AppConstants.EVENTS_CACHE).get("all"));
+        List<EventView> afterSave = eventService.getAllEvents();
+        assertNotSame(first, afterSave);
+        assertEquals(first.size() + 1, afterSave.size());
+    }
+
+    @Test
+    void getEvent_servedFromCacheUntilPatch() {
+        Integer id = eventService.saveEvent(newEvent("Patched Event")).getId();
+        EventView cached = eventService.getEvent(id);
+        assertSame(cached, eventService.getEvent(id));
+
+        Event patch = newEvent("Patched Event 2");
+        patch.setId(id);
+        eventService.patchEvent(patch);
+
+        assertNull(cacheManager.getCache(AppConstants.EVENT_CACHE).get(id));
+        assertEquals("Patched Event 2", eventService.getEvent(id).name());
+    }
+
+    private static Event newEvent(String name) {
+        return Event.builder()
+                .name(name)
+                .description("Cache test")
+                .availableFrom("2024-01-01")
+                .availableTo("2024-12-31")
+                .type(ValidTypesOfHotelsEnum.WORKSHOP)
+                .status(true)
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package dev.yerassyl.aliyev.serviceImp;
+
+import dev.yerassyl.aliyev.dto.EventCursorPage;
+import dev.yerassyl.aliyev.entity.Event;
+import dev.yerassyl.aliyev.entity.ValidTypesOfHotelsEnum;
+import dev.yerassyl.aliyev.exception.InvalidRequestException;
+import dev.yerassyl.aliyev.repository.EventRepository;
+import dev.yerassyl.aliyev.service.EventService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing keyset pagination of events...
+ */
+@ActiveProfiles("h2")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:eventCursor;DB_CLOSE_DELAY=-1"
+})
+class EventServiceImpCursorTest {
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @BeforeEach
+    void addEventsWithDuplicateNames() {
+        if (eventRepository.count() < 12) {
+            for (int i = 0; i < 7; i++) {
+                eventRepository.save(Event.builder()
+                        .name("Cursor Event " + (i % 3))
+                        .description("Cursor test")
+                        .type(ValidTypesOfHotelsEnum.CONCERT)
+                        .status(true)
+                        .build());
+            }
+        }
+    }
+
+    @Test
+    void cursorPages_coverAllEventsInOrderWithoutDuplicates() {
+        List<Event> expected = new ArrayList<>(eventRepository.findAll());
+        expected.sort(Comparator.comparing(Event::getName).thenComparing(Event::getId));
+
+        List<Integer> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            EventCursorPage page = eventService.getEventCursorPage(cursor, 3, "name");
+            page.getContent().forEach(event -> seen.add(event.id()));
+            cursor = page.getNextCursor();
+            assertEquals(page.isHasNext(), cursor != null);
+        } while (cursor != null);
+
+        assertEquals(expected.stream().map(Event::getId).toList(), seen);
+    }
+
+    @Test
+    void cursorPagesById_coverAllEvents() {
+        List<Integer> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            EventCursorPage page = eventService.getEventCursorPage(cursor, 5, "id");
+            page.getContent().forEach(event -> seen.add(event.id()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(eventRepository.findAll().stream().map(Event::getId).sorted().toList(), seen);
+    }
+
+    @Test
+    void cursorIssuedForOtherSort_isRejected() {
+        String cursor = eventService.getEventCursorPage(null, 3, "name").getNextCursor();
+        assertNotNull(cursor);
+        assertThrows(InvalidRequestException.class, () -> eventService.getEventCursorPage(cursor, 3, "id"));
+        assertThrows(InvalidRequestException.class, () -> eventService.getEventCursorPage("not-a-cursor", 3, "id"));
+
+        // Tampered keys: wrong type, unknown property, missing id tiebreaker, extra key
+        for (String[] tampered : new String[][]{
+                {"id", "{\"s\":\"id\",\"k\":{\"id\":\"x\"}}"},
+                {"id", "{\"s\":\"id\",\"k\":{\"id\":1.5}}"},
+                {"id", "{\"s\":\"id\",\"k\":{\"id\":10000000000}}"},
+                {"id", "{\"s\":\"id\",\"k\":{\"foo\":1}}"},
+                {"name", "{\"s\":\"name\",\"k\":{\"name\":\"a\"}}"},
+                {"name", "{\"s\":\"name\",\"k\":{\"name\":1,\"id\":1}}"},
+                {"name", "{\"s\":\"name\",\"k\":{\"name\":\"a\",\"id\":1,\"foo\":1}}"}}) {
+            String token = Base64.getUrlEncoder().withoutPadding().encodeToString(tampered[1].getBytes(StandardCharsets.UTF_8));
+            assertThrows(InvalidRequestException.class, () -> eventService.getEventCursorPage(token, 3, tampered[0]),
+                    tampered[1]);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package dev.yerassyl.aliyev.serviceImp;
 
+import dev.yerassyl.aliyev.dto.EventView;
 import dev.yerassyl.aliyev.entity.Event;
 import dev.yerassyl.aliyev.entity.ValidTypesOfHotelsEnum;
+import dev.yerassyl.aliyev.exception.InvalidRequestException;
 import dev.yerassyl.aliyev.repository.EventRepository;
+import dev.yerassyl.aliyev.repository.ReservationRepository;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,13 +17,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 class EventServiceImpMockitoTest {
     @Mock
     EventRepository eventRepository;
 
+    @Mock
+    ReservationRepository reservationRepository;
+
     @InjectMocks
     EventServiceImp eventServiceImp;
 
@@ -59,11 +67,14 @@ class EventServiceImpMockitoTest {
     void getAllHotelsTest_Valid() {
 
         // when - action or behaviour that we are going test
-        when(eventRepository.findAll()).thenReturn(eventList);
+        when(eventRepository.findAllViews()).thenReturn(eventList.stream().map(event -> new EventView(event.getId(),
+                event.getName(), event.getType(), event.getDescription(), event.getAvailableFrom(),
+                event.getAvailableTo(), event.isStatus(), event.getCapacity(), event.getSeatsTaken())).toList());
 
         assertEquals(2, eventServiceImp.getAllEvents().size());
 
-        verify(eventRepository, times(1)).findAll();
+        verify(eventRepository, times(1)).findAllViews();
+        verify(eventRepository, never()).findAll();
     }
 
 
@@ -88,5 +99,24 @@ class EventServiceImpMockitoTest {
         );
     }
 
+    @Test
+    void doesReservationOverlapTest_NoReservations() {
+        Event event = eventList.get(0);
+        event.setId(1);
+        when(reservationRepository.existsByEventId(1)).thenReturn(false);
+
+        assertDoesNotThrow(() -> eventServiceImp.doesReservationOverlap(event));
+
+        verify(reservationRepository, never()).findAll();
+    }
+
+    @Test
+    void doesReservationOverlapTest_HasReservations() {
+        Event event = eventList.get(1);
+        event.setId(2);
+        when(reservationRepository.existsByEventId(2)).thenReturn(true);
+
+        assertThrows(InvalidRequestException.class, () -> eventServiceImp.doesReservationOverlap(event));
+    }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+package dev.yerassyl.aliyev.serviceImp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.yerassyl.aliyev.dto.EventView;
+import dev.yerassyl.aliyev.entity.Event;
+import dev.yerassyl.aliyev.entity.Reservation;
+import dev.yerassyl.aliyev.entity.ValidTypesOfHotelsEnum;
+import dev.yerassyl.aliyev.repository.EventRepository;
+import dev.yerassyl.aliyev.repository.ReservationRepository;
+import dev.yerassyl.aliyev.service.EventService;
+import dev.yerassyl.aliyev.service.ReservationService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing that reads return projections without loading entities into the persistence context
+ */
+@ActiveProfiles("h2")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:eventProjection;DB_CLOSE_DELAY=-1"
+})
+class EventServiceImpProjectionTest {
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    ReservationService reservationService;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    ReservationRepository reservationRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Test
+    void listReads_doNotHydrateEntities() {
+        Integer id = eventRepository.save(Event.builder()
+                .name("Projected Event")
+                .description("Projection test")
+                .availableFrom("2040-01-01")
+                .availableTo("2040-01-31")
+                .type(ValidTypesOfHotelsEnum.WORKSHOP)
+                .status(true)
+                .build()).getId();
+        reservationRepository.save(Reservation.builder().eventId(id).checkIn("P1").status(true).build());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assertFalse(eventService.getEventPagedList(0, 10, "id").isEmpty());
+            assertFalse(eventService.getEventCursorPage(null, 10, "name").getContent().isEmpty());
+            assertEquals("Projected Event", eventService.getEvent(id).name());
+            assertFalse(reservationService.getAllReservations().isEmpty());
+
+            assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        });
+    }
+
+    @Test
+    void eventView_keepsTheEntityJson() throws Exception {
+        Event event = eventRepository.save(Event.builder()
+                .name("Json Event")
+                .description("Projection test")
+                .availableFrom("2041-01-01")
+                .availableTo("2041-01-31")
+                .type(ValidTypesOfHotelsEnum.CONCERT)
+                .status(true)
+                .build());
+        EventView view = eventService.getEvent(event.getId());
+
+        // Clients see the same fields and values as when the entity itself was returned
+        JsonNode fromView = objectMapper.readTree(objectMapper.writeValueAsString(view));
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(event)), fromView);
+        assertEquals("2041-01-01", fromView.get("availableFrom").asText());
+        assertTrue(fromView.get("status").asBoolean());
+    }
+}
@@ -0,0 +1,82 @@
+package dev.yerassyl.aliyev.serviceImp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.yerassyl.aliyev.entity.Event;
+import dev.yerassyl.aliyev.entity.ValidTypesOfHotelsEnum;
+import dev.yerassyl.aliyev.repository.EventRepository;
+import dev.yerassyl.aliyev.repository.ReservationRepository;
+import dev.yerassyl.aliyev.service.EventService;
+import dev.yerassyl.aliyev.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing newline delimited JSON streaming of the full listings...
+ */
+@ActiveProfiles("h2")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:eventStreaming;DB_CLOSE_DELAY=-1"
+})
+class EventServiceImpStreamingTest {
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    ReservationService reservationService;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    ReservationRepository reservationRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    void writeAllEvents_writesOneParsableLinePerEvent() throws Exception {
+        // More than one fetch batch so intermediate flushes are exercised
+        for (int i = 0; i < 1200; i++) {
+            eventRepository.save(Event.builder()
+                    .name("Streamed Event " + i)
+                    .description("Streaming test")
+                    .type(ValidTypesOfHotelsEnum.CONCERT)
+                    .status(true)
+                    .build());
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        eventService.writeAllEvents(out);
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(eventRepository.count(), lines.length);
+
+        Set<Integer> ids = new HashSet<>();
+        for (String line : lines) {
+            ids.add(objectMapper.readValue(line, Event.class).getId());
+        }
+        assertEquals(lines.length, ids.size());
+    }
+
+    @Test
+    void writeAllReservations_writesOneLinePerReservation() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reservationService.writeAllReservations(out);
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        long lines = body.chars().filter(c -> c == '\n').count();
+        assertEquals(reservationRepository.count(), lines);
+    }
+}
@@ -0,0 +1,149 @@
+package dev.yerassyl.aliyev.serviceImp;
+
+import dev.yerassyl.aliyev.constants.ErrorMessages;
+import dev.yerassyl.aliyev.entity.Event;
+import dev.yerassyl.aliyev.entity.Reservation;
+import dev.yerassyl.aliyev.entity.ValidTypesOfHotelsEnum;
+import dev.yerassyl.aliyev.exception.InvalidRequestException;
+import dev.yerassyl.aliyev.repository.EventRepository;
+import dev.yerassyl.aliyev.service.ReservationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fires thousands of parallel bookings at one event and checks that exactly 'capacity' of them succeed
+ */
+@ActiveProfiles("h2")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:bookingStress;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.jpa.show-sql=false"
+})
+class ReservationServiceImpConcurrencyTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    ReservationService reservationService;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void parallelBookings_neverOversellEvent() throws InterruptedException {
+        int capacity = 50;
+        int attempts = 2_000;
+        Integer eventId = createEvent("Stress event", capacity);
+        int firstUserId = createUsers("OVERSELL", attempts);
+        double booked = bookings("success");
+        double full = bookings("full");
+
+        Map<String, AtomicInteger> outcomes = runInParallel(attempts, i -> reservationService.saveReservation(
+                Reservation.builder().eventId(eventId).status(true).build(), firstUserId + i));
+
+        assertEquals(capacity, outcomes.get("success").get());
+        assertEquals(attempts - capacity, outcomes.get(ErrorMessages.EVENT_FULL).get());
+        assertEquals(capacity, eventRepository.findById(eventId).get().getSeatsTaken());
+        assertEquals(capacity, countReservations(eventId));
+        assertEquals(capacity, bookings("success") - booked);
+        assertEquals(attempts - capacity, bookings("full") - full);
+    }
+
+    @Test
+    void parallelBookingsOfSameStudent_registerOnce() throws InterruptedException {
+        int attempts = 500;
+        Integer eventId = createEvent("Duplicate event", 100);
+        int userId = createUsers("DUPLICATE", 1);
+        double duplicates = bookings("duplicate");
+
+        Map<String, AtomicInteger> outcomes = runInParallel(attempts, i -> reservationService.saveReservation(
+                Reservation.builder().eventId(eventId).status(true).build(), userId));
+
+        assertEquals(1, outcomes.get("success").get());
+        assertEquals(attempts - 1, outcomes.get(ErrorMessages.ALREADY_REGISTERED).get());
+        assertEquals(1, eventRepository.findById(eventId).get().getSeatsTaken());
+        assertEquals(1, countReservations(eventId));
+        assertEquals(attempts - 1, bookings("duplicate") - duplicates);
+    }
+
+    private double bookings(String outcome) {
+        return meterRegistry.get("reservation.bookings").tag("outcome", outcome).counter().count();
+    }
+
+    private Map<String, AtomicInteger> runInParallel(int attempts, Booking booking) throws InterruptedException {
+        Map<String, AtomicInteger> outcomes = new ConcurrentHashMap<>();
+        outcomes.put("success", new AtomicInteger());
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < attempts; i++) {
+            int attempt = i;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    booking.book(attempt);
+                    outcomes.get("success").incrementAndGet();
+                } catch (InvalidRequestException e) {
+                    outcomes.computeIfAbsent(e.getMessage(), k -> new AtomicInteger()).incrementAndGet();
+                } catch (Exception e) {
+                    outcomes.computeIfAbsent("unexpected: " + e, k -> new AtomicInteger()).incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+        return outcomes;
+    }
+
+    private Integer createEvent(String name, int capacity) {
+        return eventRepository.save(Event.builder()
+                .name(name)
+                .description("Concurrent booking")
+                .type(ValidTypesOfHotelsEnum.CONCERT)
+                .availableFrom("2024-01-01")
+                .availableTo("2024-12-31")
+                .capacity(capacity)
+                .status(true)
+                .build()).getId();
+    }
+
+    private int createUsers(String prefix, int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{prefix + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO user_table (student_id, name, surname, password) VALUES (?, 'Stress', 'Test', 'x')", rows);
+        return jdbcTemplate.queryForObject("SELECT MIN(id) FROM user_table WHERE student_id LIKE ?", Integer.class, prefix + "%");
+    }
+
+    private long countReservations(Integer eventId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservation WHERE event_id = ?", Long.class, eventId);
+    }
+
+    @FunctionalInterface
+    private interface Booking {
+        void book(int attempt);
+    }
+}
@@ -0,0 +1,85 @@
+package dev.yerassyl.aliyev.serviceImp;
+
+import dev.yerassyl.aliyev.constants.AppConstants;
+import dev.yerassyl.aliyev.dto.LoginRequest;
+import dev.yerassyl.aliyev.dto.RegisterRequest;
+import dev.yerassyl.aliyev.dto.UserCredentials;
+import dev.yerassyl.aliyev.dto.UserResponse;
+import dev.yerassyl.aliyev.repository.UserRepository;
+import dev.yerassyl.aliyev.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing the user caches behind /login and /user/current
+ */
+@ActiveProfiles("h2")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:userCache;DB_CLOSE_DELAY=-1",
+        "app.security.password.iterations=1000"
+})
+class UserServiceImpCacheTest {
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Test
+    void getCurrentUser_servedFromCache() {
+        Integer id = userService.register(register("CACHE1")).getId();
+
+        UserResponse first = userService.getCurrentUser(id);
+        assertSame(first, userService.getCurrentUser(id));
+        assertEquals("CACHE1", first.getStudentId());
+    }
+
+    @Test
+    void login_cachesCredentials_andRehashEvictsThem() {
+        userService.register(register("CACHE2"));
+        assertNull(cacheManager.getCache(AppConstants.USER_CREDENTIALS_CACHE).get("CACHE2"));
+
+        userService.login(login("CACHE2"));
+        UserCredentials cached = cacheManager.getCache(AppConstants.USER_CREDENTIALS_CACHE)
+                .get("CACHE2", UserCredentials.class);
+        assertNotNull(cached);
+        assertSame(cached, userRepository.findCredentialsByStudentId("CACHE2").orElseThrow());
+
+        userRepository.updatePassword("CACHE2", cached.password());
+        assertNull(cacheManager.getCache(AppConstants.USER_CREDENTIALS_CACHE).get("CACHE2"));
+    }
+
+    @Test
+    void unknownStudentId_isNotCached() {
+        assertTrue(userRepository.findCredentialsByStudentId("CACHE3").isEmpty());
+        assertNull(cacheManager.getCache(AppConstants.USER_CREDENTIALS_CACHE).get("CACHE3"));
+
+        userService.register(register("CACHE3"));
+        assertEquals("CACHE3", userService.login(login("CACHE3")).getStudentId());
+    }
+
+    private static RegisterRequest register(String studentId) {
+        RegisterRequest request = new RegisterRequest();
+        request.setStudentId(studentId);
+        request.setName("Cache");
+        request.setSurname("Test");
+        request.setPassword("secret");
+        return request;
+    }
+
+    private static LoginRequest login(String studentId) {
+        LoginRequest request = new LoginRequest();
+        request.setStudentId(studentId);
+        request.setPassword("secret");
+        return request;
+    }
+}
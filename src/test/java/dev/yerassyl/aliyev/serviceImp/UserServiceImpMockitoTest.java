@@ -0,0 +1,92 @@
+package dev.yerassyl.aliyev.serviceImp;
+
+import dev.yerassyl.aliyev.dto.LoginRequest;
+import dev.yerassyl.aliyev.dto.UserCredentials;
+import dev.yerassyl.aliyev.exception.InvalidRequestException;
+import dev.yerassyl.aliyev.repository.UserRepository;
+import dev.yerassyl.aliyev.security.Pbkdf2PasswordHasher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserServiceImpMockitoTest {
+
+    @Mock
+    UserRepository userRepository;
+
+    Pbkdf2PasswordHasher passwordHasher = new Pbkdf2PasswordHasher(1000, 1, 8);
+
+    UserServiceImp userServiceImp;
+
+    @BeforeEach
+    public void initMocks() {
+        MockitoAnnotations.openMocks(this);
+        userServiceImp = new UserServiceImp(userRepository, passwordHasher);
+    }
+
+    @AfterEach
+    public void closeHasher() {
+        passwordHasher.close();
+    }
+
+    private static LoginRequest login(String password) {
+        LoginRequest request = new LoginRequest();
+        request.setStudentId("S1");
+        request.setPassword(password);
+        return request;
+    }
+
+    @Test
+    void login_upgradesLegacySha256Hash() {
+        UserCredentials user = new UserCredentials(1, "S1", "Test", "User",
+                "2bb80d537b1da3e38bd30361aa855686bde0eacd7162fef6a25fe97bf527a25b");
+        when(userRepository.findCredentialsByStudentId("S1")).thenReturn(Optional.of(user));
+
+        assertEquals(1, userServiceImp.login(login("secret")).getId());
+
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(userRepository).updatePassword(eq("S1"), hash.capture());
+        assertTrue(hash.getValue().startsWith("pbkdf2-sha256$"));
+        assertTrue(passwordHasher.matches("secret", hash.getValue()));
+
+        // Already upgraded: no second write
+        when(userRepository.findCredentialsByStudentId("S1"))
+                .thenReturn(Optional.of(new UserCredentials(1, "S1", "Test", "User", hash.getValue())));
+        userServiceImp.login(login("secret"));
+        verify(userRepository, times(1)).updatePassword(any(), any());
+        verify(userRepository, never()).findByStudentId(any());
+    }
+
+    @Test
+    void login_withWrongPassword_fails() {
+        UserCredentials user = new UserCredentials(1, "S1", "Test", "User", passwordHasher.hash("secret"));
+        when(userRepository.findCredentialsByStudentId("S1")).thenReturn(Optional.of(user));
+
+        assertThrows(InvalidRequestException.class, () -> userServiceImp.login(login("wrong")));
+        verify(userRepository, never()).updatePassword(any(), any());
+    }
+
+    @Test
+    void login_withUnknownStudentId_stillHashesThePassword() {
+        Pbkdf2PasswordHasher hasher = spy(passwordHasher);
+        userServiceImp = new UserServiceImp(userRepository, hasher);
+        when(userRepository.findCredentialsByStudentId("S1")).thenReturn(Optional.empty());
+
+        InvalidRequestException unknown = assertThrows(InvalidRequestException.class,
+                () -> userServiceImp.login(login("secret")));
+
+        verify(hasher).matches(eq("secret"), startsWith("pbkdf2-sha256$1000$"));
+        UserCredentials user = new UserCredentials(1, "S1", "Test", "User", passwordHasher.hash("secret"));
+        when(userRepository.findCredentialsByStudentId("S1")).thenReturn(Optional.of(user));
+        assertEquals(unknown.getMessage(),
+                assertThrows(InvalidRequestException.class, () -> userServiceImp.login(login("wrong"))).getMessage());
+    }
+}
@@ -0,0 +1,44 @@
+package dev.yerassyl.aliyev.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EpochDaysTest {
+
+    @Test
+    void parse_agreesWithLocalDate() {
+        for (LocalDate date = LocalDate.of(1600, 1, 1); date.getYear() < 2500; date = date.plusDays(1)) {
+            assertEquals(date.toEpochDay(), EpochDays.parse(date.toString()), date.toString());
+        }
+        assertEquals(LocalDate.of(0, 1, 1).toEpochDay(), EpochDays.parse("0000-01-01"));
+        assertEquals(LocalDate.of(9999, 12, 31).toEpochDay(), EpochDays.parse("9999-12-31"));
+    }
+
+    @Test
+    void parse_acceptsSingleDigitMonthAndDay() {
+        assertEquals(LocalDate.of(2023, 1, 5).toEpochDay(), EpochDays.parse("2023-1-5"));
+        assertEquals(LocalDate.of(2023, 11, 5).toEpochDay(), EpochDays.parse("2023-11-5"));
+        assertEquals(LocalDate.of(2023, 1, 25).toEpochDay(), EpochDays.parse("2023-1-25"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "Hello", "2023/01/01", "2023-13-01", "2023-00-10", "2023-02-29", "1900-02-29",
+            "2023-04-31", "2023-01-00", "23-01-01", "2023-01-01abc", "2023-001-01", "2023-1-123", " 2023-01-01",
+            "2023--1-01", "+2023-1-1"})
+    void parse_rejectsInvalidDates(String date) {
+        assertEquals(EpochDays.INVALID, EpochDays.parse(date));
+        assertFalse(EpochDays.isValid(date));
+    }
+
+    @Test
+    void parse_acceptsLeapDays() {
+        assertTrue(EpochDays.isValid("2024-02-29"));
+        assertTrue(EpochDays.isValid("2000-02-29"));
+        assertFalse(EpochDays.isValid(null));
+    }
+}
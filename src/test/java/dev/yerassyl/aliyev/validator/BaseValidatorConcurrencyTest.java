@@ -0,0 +1,64 @@
+package dev.yerassyl.aliyev.validator;
+
+import dev.yerassyl.aliyev.constants.ErrorMessages;
+import dev.yerassyl.aliyev.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Validates dates from many threads at once, a shared SimpleDateFormat used to mix up concurrent parses
+ */
+class BaseValidatorConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 10_000;
+
+    @Test
+    void validateDates_isCorrectUnderConcurrentUse() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int seed = t;
+                tasks.add(() -> {
+                    int mistakes = 0;
+                    for (int i = 0; i < ROUNDS; i++) {
+                        LocalDate start = LocalDate.of(2000, 1, 1).plusDays((seed * 7919L + i * 31L) % 10_000);
+                        // Every hundredth pair is in the wrong order
+                        LocalDate end = i % 100 == 0 ? start.minusDays(1) : start.plusDays(i % 2);
+                        String expected = end.isBefore(start) ? ErrorMessages.INVALID_DATE_ORDER : null;
+                        String actual = null;
+                        try {
+                            BaseValidator.validateDates(start.toString(), end.toString());
+                        } catch (InvalidRequestException e) {
+                            actual = e.getMessage();
+                        }
+                        if (expected == null ? actual != null : !expected.equals(actual)) {
+                            mistakes++;
+                        }
+                        if (BaseValidator.parseDate(start.toString()) != start.toEpochDay()) {
+                            mistakes++;
+                        }
+                    }
+                    return mistakes;
+                });
+            }
+            int mistakes = 0;
+            for (Future<Integer> result : executor.invokeAll(tasks)) {
+                mistakes += result.get();
+            }
+            assertEquals(0, mistakes);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
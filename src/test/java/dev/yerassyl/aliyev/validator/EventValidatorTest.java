@@ -51,6 +51,45 @@ class EventValidatorTest {
         Assertions.assertDoesNotThrow(() -> EventValidator.validateEventPOST(event));
     }
 
+    @Test
+    void validateHotelPATCH_InvalidCapacity() {
+        Event event = Event.builder()
+                .name("Hilton Event")
+                .description("5* Event...")
+                .availableFrom("2023-01-01")
+                .availableTo("2023-12-31")
+                .type(ValidTypesOfHotelsEnum.CONCERT)
+                .status(true)
+                .capacity(null)
+                .build();
+        event.setId(1);
+        Assertions.assertThrows(InvalidRequestException.class, () -> EventValidator.validateEventPATCH(event));
+    }
+
+    @Test
+    void validateCapacity_ValidCase() {
+        Integer capacity = 1;
+        Assertions.assertDoesNotThrow(() -> EventValidator.validateCapacity(capacity));
+    }
+
+    @Test
+    void validateCapacity_InvalidCase1() {
+        Integer capacity = null;
+        Assertions.assertThrows(InvalidRequestException.class, () -> EventValidator.validateCapacity(capacity));
+    }
+
+    @Test
+    void validateCapacity_InvalidCase2() {
+        Integer capacity = 0;
+        Assertions.assertThrows(InvalidRequestException.class, () -> EventValidator.validateCapacity(capacity));
+    }
+
+    @Test
+    void validateCapacity_InvalidCase3() {
+        Integer capacity = -5;
+        Assertions.assertThrows(InvalidRequestException.class, () -> EventValidator.validateCapacity(capacity));
+    }
+
     @Test
     void validateId_ValidCase() {
         Integer id = 1;